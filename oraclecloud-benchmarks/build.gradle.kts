@@ -0,0 +1,30 @@
+plugins {
+    id("io.micronaut.build.internal.oraclecloud-tests")
+    id("java")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(projects.micronautOraclecloudHttpclientNetty)
+    jmh(projects.micronautOraclecloudBmcMonitoring)
+    jmh(projects.micronautOraclecloudBmcObjectstorage)
+    jmh(projects.micronautOraclecloudBmcSecrets)
+    jmh(projects.micronautOraclecloudHttpclientApacheHttpCore)
+    jmh(platform("${libs.jackson.bom.get()}:${mn.versions.jackson.get()}"))
+    jmh(mn.jackson.databind)
+    jmh(mn.jackson.datatype.jsr310)
+    jmh(libs.jackson.module.blackbird)
+    jmh(mn.netty.codec.http)
+    jmhRuntimeOnly(mnLogging.logback.classic)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // allocation rates are the main regression signal for the client hot path
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    if (project.hasProperty("jmhIncludes")) {
+        includes.add(project.property("jmhIncludes") as String)
+    }
+}
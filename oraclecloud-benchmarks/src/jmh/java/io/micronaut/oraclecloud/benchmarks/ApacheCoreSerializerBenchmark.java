@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.benchmarks;
+
+import com.oracle.bmc.http.client.Serializer;
+import com.oracle.bmc.monitoring.model.PostMetricDataDetails;
+import com.oracle.bmc.objectstorage.model.ListObjects;
+import com.oracle.bmc.secrets.model.SecretBundle;
+import io.micronaut.oraclecloud.httpclient.apache.core.ApacheCoreHttpProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * Compares the jackson and serde serializers of the apache core client on typical payloads.
+ */
+@State(Scope.Benchmark)
+public class ApacheCoreSerializerBenchmark {
+    private static final String BLACKBIRD_PROPERTY = "oci.apache-core.jackson.blackbird";
+
+    @Param({ApacheCoreHttpProvider.SERIALIZER_JACKSON, ApacheCoreHttpProvider.SERIALIZER_SERDE})
+    String serializerName;
+
+    /**
+     * Whether the jackson serializer registers the blackbird module. Has no effect on serde.
+     */
+    @Param({"true", "false"})
+    String blackbird;
+
+    private Serializer serializer;
+    private PostMetricDataDetails metricData;
+    private String listObjectsJson;
+    private String secretBundleJson;
+
+    @Setup
+    public void setUp() {
+        System.setProperty(ApacheCoreHttpProvider.SERIALIZER_PROPERTY, serializerName);
+        System.setProperty(BLACKBIRD_PROPERTY, blackbird);
+        try {
+            serializer = new ApacheCoreHttpProvider().getSerializer();
+        } finally {
+            System.clearProperty(ApacheCoreHttpProvider.SERIALIZER_PROPERTY);
+            System.clearProperty(BLACKBIRD_PROPERTY);
+        }
+        metricData = Payloads.postMetricData(100);
+        listObjectsJson = Payloads.listObjects(100);
+        secretBundleJson = Payloads.secretBundle();
+    }
+
+    @Benchmark
+    public String serializePostMetricData() throws IOException {
+        return serializer.writeValueAsString(metricData);
+    }
+
+    @Benchmark
+    public ListObjects deserializeListObjects() throws IOException {
+        return serializer.readValue(listObjectsJson, ListObjects.class);
+    }
+
+    @Benchmark
+    public SecretBundle deserializeSecretBundle() throws IOException {
+        return serializer.readValue(secretBundleJson, SecretBundle.class);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.benchmarks;
+
+import com.oracle.bmc.monitoring.model.Datapoint;
+import com.oracle.bmc.monitoring.model.MetricDataDetails;
+import com.oracle.bmc.monitoring.model.PostMetricDataDetails;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representative OCI payloads used by the benchmarks.
+ */
+final class Payloads {
+    private Payloads() {
+    }
+
+    /**
+     * A metric batch as sent by the micrometer registry.
+     *
+     * @param metrics Number of metrics in the batch
+     * @return The request body
+     */
+    static PostMetricDataDetails postMetricData(int metrics) {
+        List<MetricDataDetails> metricData = new ArrayList<>(metrics);
+        for (int i = 0; i < metrics; i++) {
+            metricData.add(MetricDataDetails.builder()
+                .namespace("micronaut_benchmark")
+                .compartmentId("ocid1.compartment.oc1..aaaaaaaabenchmark")
+                .name("http.server.requests." + i)
+                .dimensions(Map.of("host", "localhost", "method", "GET", "status", "200"))
+                .datapoints(List.of(
+                    Datapoint.builder().timestamp(new Date(1700000000000L + i)).value(i * 1.5).count(1).build()
+                ))
+                .build());
+        }
+        return PostMetricDataDetails.builder()
+            .metricData(metricData)
+            .build();
+    }
+
+    /**
+     * A ListBuckets response body.
+     *
+     * @param buckets Number of buckets in the list
+     * @return The JSON response body
+     */
+    static String listBuckets(int buckets) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < buckets; i++) {
+            if (i != 0) {
+                json.append(',');
+            }
+            json.append("{\"namespace\":\"benchmark\",\"name\":\"bucket-").append(i)
+                .append("\",\"compartmentId\":\"ocid1.compartment.oc1..aaaaaaaabenchmark\"")
+                .append(",\"createdBy\":\"ocid1.user.oc1..aaaaaaaabenchmark\"")
+                .append(",\"timeCreated\":\"2024-10-23T18:47:01.001Z\"")
+                .append(",\"etag\":\"etag-").append(i).append("\"")
+                .append(",\"freeformTags\":{\"team\":\"benchmark\"}}");
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * A ListObjects response body.
+     *
+     * @param objects Number of objects in the list
+     * @return The JSON response body
+     */
+    static String listObjects(int objects) {
+        StringBuilder json = new StringBuilder("{\"objects\":[");
+        for (int i = 0; i < objects; i++) {
+            if (i != 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"data/object-").append(i)
+                .append("\",\"size\":").append(1024L * i)
+                .append(",\"md5\":\"1B2M2Y8AsgTpgAmY7PhCfg==\"")
+                .append(",\"timeCreated\":\"2024-10-23T18:47:01.001Z\"")
+                .append(",\"etag\":\"etag-").append(i).append("\"")
+                .append(",\"storageTier\":\"Standard\"")
+                .append(",\"archivalState\":\"Archived\"")
+                .append(",\"timeModified\":\"2024-10-23T18:47:01.001Z\"}");
+        }
+        return json.append("],\"prefixes\":[],\"nextStartWith\":\"data/object-").append(objects).append("\"}").toString();
+    }
+
+    /**
+     * A GetSecretBundle response body.
+     *
+     * @return The JSON response body
+     */
+    static String secretBundle() {
+        return "{\"secretId\":\"ocid1.vaultsecret.oc1..aaaaaaaabenchmark\""
+            + ",\"versionNumber\":3"
+            + ",\"versionName\":\"v3\""
+            + ",\"secretBundleContent\":{\"contentType\":\"BASE64\",\"content\":\"c2VjcmV0LXZhbHVlLWZvci1iZW5jaG1hcms=\"}"
+            + ",\"timeCreated\":\"2024-10-23T18:47:01.001Z\""
+            + ",\"stages\":[\"CURRENT\",\"LATEST\"]"
+            + ",\"metadata\":{\"owner\":\"benchmark\"}}";
+    }
+}
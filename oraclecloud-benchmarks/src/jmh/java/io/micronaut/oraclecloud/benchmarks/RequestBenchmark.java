@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.benchmarks;
+
+import com.oracle.bmc.http.client.HttpClient;
+import com.oracle.bmc.http.client.HttpRequest;
+import com.oracle.bmc.http.client.HttpResponse;
+import com.oracle.bmc.http.client.Method;
+import com.oracle.bmc.monitoring.model.PostMetricDataDetails;
+import io.micronaut.oraclecloud.httpclient.netty.NettyHttpProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.net.URI;
+
+/**
+ * Benchmarks for building and executing requests with the netty client.
+ */
+@State(Scope.Benchmark)
+public class RequestBenchmark {
+    private LocalServer server;
+    private HttpClient client;
+    private PostMetricDataDetails metricData;
+
+    @Setup
+    public void setUp() {
+        server = new LocalServer("{}");
+        client = new NettyHttpProvider().newBuilder()
+            .baseUri(server.endpoint())
+            .build();
+        metricData = Payloads.postMetricData(20);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    /**
+     * Request construction, path, query and header building. Nothing is sent.
+     */
+    @Benchmark
+    public URI buildRequest() {
+        HttpRequest request = client.createRequest(Method.GET)
+            .appendPathPart("20180401")
+            .appendPathPart("alarms")
+            .query("compartmentId", "ocid1.compartment.oc1..aaaaaaaabenchmark")
+            .query("limit", "100")
+            .header("opc-request-id", "benchmark")
+            .header("accept", "application/json");
+        URI uri = request.uri();
+        request.discard();
+        return uri;
+    }
+
+    /**
+     * Request construction with a JSON body. Nothing is sent.
+     */
+    @Benchmark
+    public Object buildJsonRequest() {
+        HttpRequest request = client.createRequest(Method.POST)
+            .appendPathPart("20180401")
+            .appendPathPart("metrics")
+            .header("content-type", "application/json")
+            .body(metricData);
+        Object body = request.body();
+        request.discard();
+        return body;
+    }
+
+    /**
+     * Full exchange with the local server.
+     */
+    @Benchmark
+    public String execute() throws Exception {
+        try (HttpResponse response = client.createRequest(Method.GET)
+            .appendPathPart("20180401")
+            .appendPathPart("alarms")
+            .header("accept", "application/json")
+            .execute().toCompletableFuture().get()) {
+            return response.textBody().toCompletableFuture().get();
+        }
+    }
+}
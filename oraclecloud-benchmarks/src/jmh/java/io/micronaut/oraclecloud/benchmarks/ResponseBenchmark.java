@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.benchmarks;
+
+import com.oracle.bmc.http.client.HttpClient;
+import com.oracle.bmc.http.client.HttpResponse;
+import com.oracle.bmc.http.client.Method;
+import com.oracle.bmc.objectstorage.model.BucketSummary;
+import io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties;
+import io.micronaut.oraclecloud.httpclient.netty.NettyHttpProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+
+/**
+ * Benchmarks for response decoding of a list response.
+ */
+@State(Scope.Benchmark)
+public class ResponseBenchmark {
+    @Param({"10", "1000"})
+    int buckets;
+
+    @Param({"false", "true"})
+    boolean streamingJsonResponse;
+
+    private LocalServer server;
+    private HttpClient client;
+
+    @Setup
+    public void setUp() {
+        server = new LocalServer(Payloads.listBuckets(buckets));
+        client = new NettyHttpProvider().newBuilder()
+            .baseUri(server.endpoint())
+            .property(NettyClientProperties.STREAMING_JSON_RESPONSE, streamingJsonResponse)
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public List<BucketSummary> listBody() throws Exception {
+        try (HttpResponse response = client.createRequest(Method.GET)
+            .appendPathPart("n")
+            .appendPathPart("benchmark")
+            .appendPathPart("b")
+            .execute().toCompletableFuture().get()) {
+            return response.listBody(BucketSummary.class).toCompletableFuture().get();
+        }
+    }
+}
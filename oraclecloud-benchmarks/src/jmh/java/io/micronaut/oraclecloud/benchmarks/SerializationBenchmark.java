@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.benchmarks;
+
+import com.oracle.bmc.http.client.Serializer;
+import com.oracle.bmc.monitoring.model.PostMetricDataDetails;
+import com.oracle.bmc.objectstorage.model.ListObjects;
+import io.micronaut.oraclecloud.serde.OciSdkMicronautSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * Benchmarks for model (de)serialization through {@link OciSdkMicronautSerializer}. The
+ * {@code ListObjects} benchmarks go through the serdes that the serde processor generates for
+ * plain models, with one nested model per object.
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"1", "100"})
+    int metrics;
+
+    private Serializer serializer;
+    private PostMetricDataDetails metricData;
+    private String metricDataJson;
+    private ListObjects listObjects;
+    private String listObjectsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        serializer = OciSdkMicronautSerializer.getDefaultSerializer();
+        metricData = Payloads.postMetricData(metrics);
+        metricDataJson = serializer.writeValueAsString(metricData);
+        listObjectsJson = Payloads.listObjects(metrics);
+        listObjects = serializer.readValue(listObjectsJson, ListObjects.class);
+    }
+
+    @Benchmark
+    public String serialize() throws IOException {
+        return serializer.writeValueAsString(metricData);
+    }
+
+    @Benchmark
+    public PostMetricDataDetails deserialize() throws IOException {
+        return serializer.readValue(metricDataJson, PostMetricDataDetails.class);
+    }
+
+    @Benchmark
+    public String serializeListObjects() throws IOException {
+        return serializer.writeValueAsString(listObjects);
+    }
+
+    @Benchmark
+    public ListObjects deserializeListObjects() throws IOException {
+        return serializer.readValue(listObjectsJson, ListObjects.class);
+    }
+}
@@ -19,16 +19,21 @@ import com.oracle.bmc.http.client.ClientProperty;
 import com.oracle.bmc.http.client.HttpClientBuilder;
 import com.oracle.bmc.http.client.HttpProvider;
 import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.Property;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import java.nio.file.Path;
+import java.util.List;
 
 /**
  * OCI java SDK HTTP provider based on Apache HTTP components core, sending all requests to a local
  * unix domain socket. The serialization backend is either jackson or micronaut-serialization,
- * depending on what is on the classpath.
+ * depending on what is on the classpath. If both are available, the {@value #SERIALIZER_PROPERTY}
+ * property selects one of them. If the selected serializer is not on the classpath, the other
+ * one is used instead.
  *
  * @author Jonas Konrad
  */
@@ -37,28 +42,59 @@ import java.nio.file.Path;
 @BootstrapContextCompatible
 public final class ApacheCoreHttpProvider implements HttpProvider {
     public static final ClientProperty<Path> SOCKET_PATH = ClientProperty.create("socketPath");
+    /**
+     * Property that selects the serializer implementation, either {@value #SERIALIZER_JACKSON} or
+     * {@value #SERIALIZER_SERDE}. For the SPI provider, this is read from the system properties.
+     * By default, the managed provider prefers micronaut-serialization, and the SPI provider
+     * prefers jackson.
+     *
+     * @since 4.4.0
+     */
+    public static final String SERIALIZER_PROPERTY = "oci.apache-core.serializer";
+    public static final String SERIALIZER_JACKSON = "jackson";
+    public static final String SERIALIZER_SERDE = "serde";
+
+    private static final String NO_SERIALIZER = "No serializer implementation available. Please add a dependency on jackson-databind (and jackson-datatype-jsr310), or on a micronaut-serialization implementation.";
 
     private final ApacheCoreSerializer serializer;
 
     public ApacheCoreHttpProvider() {
         // SPI constructor
+        this(SERIALIZER_SERDE.equalsIgnoreCase(System.getProperty(SERIALIZER_PROPERTY)));
+    }
+
+    private ApacheCoreHttpProvider(boolean preferSerde) {
         ApacheCoreSerializer s;
         try {
-            s = new JacksonSerializer();
+            s = preferSerde ? new SerdeSerializer() : new JacksonSerializer();
         } catch (LinkageError e1) {
             try {
-                s = new SerdeSerializer();
+                s = preferSerde ? new JacksonSerializer() : new SerdeSerializer();
             } catch (LinkageError e2) {
                 e1.addSuppressed(e2);
-                throw new IllegalStateException("No serializer implementation available. Please add a dependency on jackson-databind (and jackson-datatype-jsr310), or on a micronaut-serialization implementation.");
+                throw new IllegalStateException(NO_SERIALIZER);
             }
         }
         serializer = s;
     }
 
     @Inject
-    ApacheCoreHttpProvider(ApacheCoreSerializer serializer) {
-        this.serializer = serializer;
+    ApacheCoreHttpProvider(List<ApacheCoreSerializer> serializers, @Property(name = SERIALIZER_PROPERTY) @Nullable String serializerName) {
+        this.serializer = select(serializers, SERIALIZER_JACKSON.equalsIgnoreCase(serializerName));
+    }
+
+    static ApacheCoreSerializer select(List<ApacheCoreSerializer> serializers, boolean preferJackson) {
+        ApacheCoreSerializer fallback = null;
+        for (ApacheCoreSerializer s : serializers) {
+            if ((s instanceof JacksonSerializer) == preferJackson) {
+                return s;
+            }
+            fallback = s;
+        }
+        if (fallback == null) {
+            throw new IllegalStateException(NO_SERIALIZER);
+        }
+        return fallback;
     }
 
     @Override
@@ -18,6 +18,7 @@ package io.micronaut.oraclecloud.httpclient.apache.core;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
@@ -29,13 +30,17 @@ import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.databind.util.ISO8601Utils;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import com.oracle.bmc.http.client.internal.ExplicitlySetBmcModel;
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.annotation.Secondary;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -54,13 +59,61 @@ import java.util.Set;
 @BootstrapContextCompatible
 @Secondary
 final class JacksonSerializer implements ApacheCoreSerializer {
-    private final ObjectMapper objectMapper = JsonMapper.builder()
-        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-        .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
-        .defaultDateFormat(new Rfc3339DateFormat())
-        .addModule(new JavaTimeModule())
-        .filterProvider(new SimpleFilterProvider().addFilter("explicitlySetFilter", ExplicitlySetFilter.INSTANCE))
-        .build();
+    /**
+     * System property to disable the blackbird module, even if it is on the classpath.
+     */
+    static final String BLACKBIRD_PROPERTY = "oci.apache-core.jackson.blackbird";
+
+    private static final Logger LOG = LoggerFactory.getLogger(JacksonSerializer.class);
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    private final ObjectMapper objectMapper;
+
+    JacksonSerializer() {
+        JsonMapper.Builder builder = JsonMapper.builder()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+            .defaultDateFormat(new Rfc3339DateFormat())
+            .addModule(new JavaTimeModule())
+            .filterProvider(new SimpleFilterProvider().addFilter("explicitlySetFilter", ExplicitlySetFilter.INSTANCE));
+        Module blackbird = blackbirdModule();
+        if (blackbird != null) {
+            builder.addModule(blackbird);
+        }
+        objectMapper = builder.build();
+    }
+
+    /**
+     * The blackbird module replaces the reflective property access of jackson with generated
+     * lambdas. It is optional, and used if it is on the classpath.
+     *
+     * @return The module, or {@code null} if it is unavailable or disabled
+     */
+    @Nullable
+    private static Module blackbirdModule() {
+        if (!Boolean.parseBoolean(System.getProperty(BLACKBIRD_PROPERTY, "true")) || !isBlackbirdPresent()) {
+            return null;
+        }
+        try {
+            return BlackbirdSupport.module();
+        } catch (LinkageError | RuntimeException e) {
+            LOG.debug("Failed to create the jackson blackbird module", e);
+            return null;
+        }
+    }
+
+    private static boolean isBlackbirdPresent() {
+        try {
+            Class.forName(BLACKBIRD_MODULE, false, JacksonSerializer.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    ObjectMapper objectMapper() {
+        return objectMapper;
+    }
 
     @Override
     public <T> T readValue(String s, Class<T> type) throws IOException {
@@ -92,6 +145,14 @@ final class JacksonSerializer implements ApacheCoreSerializer {
         objectMapper.writeValue(outputStream, value);
     }
 
+    private static final class BlackbirdSupport {
+        // only loaded once the module is known to be on the classpath
+
+        static Module module() {
+            return new BlackbirdModule();
+        }
+    }
+
     @SuppressWarnings({"deprecation", "MethodDoesntCallSuperMethod"})
     private static final class Rfc3339DateFormat extends StdDateFormat {
         // from java-sdk
@@ -0,0 +1,22 @@
+package io.micronaut.oraclecloud.httpclient.apache.core;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class JacksonSerializerTest {
+    @Test
+    public void blackbirdRegistered() {
+        Assertions.assertTrue(new JacksonSerializer().objectMapper().getRegisteredModuleIds().contains(new BlackbirdModule().getTypeId()));
+    }
+
+    @Test
+    public void blackbirdDisabled() {
+        System.setProperty(JacksonSerializer.BLACKBIRD_PROPERTY, "false");
+        try {
+            Assertions.assertFalse(new JacksonSerializer().objectMapper().getRegisteredModuleIds().contains(new BlackbirdModule().getTypeId()));
+        } finally {
+            System.clearProperty(JacksonSerializer.BLACKBIRD_PROPERTY);
+        }
+    }
+}
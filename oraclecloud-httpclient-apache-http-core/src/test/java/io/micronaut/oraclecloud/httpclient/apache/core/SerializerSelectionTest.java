@@ -0,0 +1,48 @@
+package io.micronaut.oraclecloud.httpclient.apache.core;
+
+import io.micronaut.context.ApplicationContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class SerializerSelectionTest {
+    @Test
+    public void managedDefault() {
+        try (ApplicationContext ctx = ApplicationContext.run()) {
+            Assertions.assertInstanceOf(SerdeSerializer.class, ctx.getBean(ApacheCoreHttpProvider.class).getSerializer());
+        }
+    }
+
+    @Test
+    public void managedProperty() {
+        try (ApplicationContext ctx = ApplicationContext.run(Map.of(ApacheCoreHttpProvider.SERIALIZER_PROPERTY, ApacheCoreHttpProvider.SERIALIZER_JACKSON))) {
+            Assertions.assertInstanceOf(JacksonSerializer.class, ctx.getBean(ApacheCoreHttpProvider.class).getSerializer());
+        }
+        try (ApplicationContext ctx = ApplicationContext.run(Map.of(ApacheCoreHttpProvider.SERIALIZER_PROPERTY, ApacheCoreHttpProvider.SERIALIZER_SERDE))) {
+            Assertions.assertInstanceOf(SerdeSerializer.class, ctx.getBean(ApacheCoreHttpProvider.class).getSerializer());
+        }
+    }
+
+    @Test
+    public void managedFallback() {
+        // the selected serializer is not available
+        SerdeSerializer serde = new SerdeSerializer();
+        Assertions.assertSame(serde, ApacheCoreHttpProvider.select(List.of(serde), true));
+        JacksonSerializer jackson = new JacksonSerializer();
+        Assertions.assertSame(jackson, ApacheCoreHttpProvider.select(List.of(jackson), false));
+        Assertions.assertThrows(IllegalStateException.class, () -> ApacheCoreHttpProvider.select(List.of(), false));
+    }
+
+    @Test
+    public void unmanagedSystemProperty() {
+        Assertions.assertInstanceOf(JacksonSerializer.class, new ApacheCoreHttpProvider().getSerializer());
+        System.setProperty(ApacheCoreHttpProvider.SERIALIZER_PROPERTY, ApacheCoreHttpProvider.SERIALIZER_SERDE);
+        try {
+            Assertions.assertInstanceOf(SerdeSerializer.class, new ApacheCoreHttpProvider().getSerializer());
+        } finally {
+            System.clearProperty(ApacheCoreHttpProvider.SERIALIZER_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ReferenceCounted;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * {@link java.io.InputStream} over the body publisher of a {@link io.micronaut.http.body.ByteBody}.
+ * Unlike {@link io.micronaut.http.body.ByteBody#toInputStream()}, this keeps the netty buffers
+ * received from the network, so that they can be {@link #transferTo(java.nio.channels.WritableByteChannel) transferred}
+ * to a channel without copying them to the heap.
+ * <p>
+ * Demand is requested one buffer at a time as the reader consumes the body.
+ *
+ * @since 4.4.0
+ */
+@Internal
+final class ByteBodyInputStream extends ByteBufQueueInputStream implements Subscriber<ByteBuffer<?>> {
+    private volatile Subscription subscription;
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        subscription = s;
+        if (isClosed()) {
+            s.cancel();
+        } else {
+            s.request(1);
+        }
+    }
+
+    @Override
+    public void onNext(ByteBuffer<?> byteBuffer) {
+        offer(toByteBuf(byteBuffer));
+    }
+
+    private static ByteBuf toByteBuf(ByteBuffer<?> byteBuffer) {
+        if (byteBuffer.asNativeBuffer() instanceof ByteBuf buf) {
+            // releasing the netty buffer releases the wrapper
+            return buf;
+        }
+        ByteBuf copy = Unpooled.wrappedBuffer(byteBuffer.toByteArray());
+        if (byteBuffer instanceof ReferenceCounted rc) {
+            rc.release();
+        }
+        return copy;
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        fail(t);
+    }
+
+    @Override
+    public void onComplete() {
+        complete();
+    }
+
+    @Override
+    void beforeAwait() {
+    }
+
+    @Override
+    void onTake() {
+        subscription.request(1);
+    }
+
+    @Override
+    void onClose() {
+        Subscription s = subscription;
+        if (s != null) {
+            s.cancel();
+        }
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link InputStream} over buffers received on the event loop.
+ * <p>
+ * The event loop hands the received buffers to the reading thread through a single-producer
+ * single-consumer queue, and wakes it with {@link LockSupport#unpark}. The reading thread owns
+ * all buffers it has taken from the queue. Only when the stream fails or is closed while nobody
+ * is reading does another thread release the remaining buffers, which is coordinated through
+ * {@link #state}. If the stream fails or is closed while a read is in progress, the reader is
+ * woken up and releases the buffers itself.
+ *
+ * @since 4.4.0
+ */
+@Internal
+abstract class ByteBufQueueInputStream extends InputStream {
+    private static final int IDLE = 0;
+    private static final int READING = 1;
+    private static final int CLOSED = 2;
+
+    private final Queue<ByteBuf> queue = PlatformDependent.newSpscQueue();
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    /**
+     * Guards {@link #drainQueue()} once the stream is {@link #CLOSED}, when both the producer and
+     * the thread that closed the stream may release queued buffers.
+     */
+    private final AtomicInteger drainWip = new AtomicInteger();
+    private volatile boolean done = false;
+    /**
+     * Set by {@link #close()}, possibly while another thread is reading.
+     */
+    private volatile boolean closed = false;
+    private volatile Throwable failure;
+    private volatile Thread waiter;
+    /**
+     * Buffer currently being read. Only accessed by the thread holding {@link #READING}, or by
+     * the thread that moved the state to {@link #CLOSED}.
+     */
+    private ByteBuf current;
+
+    /**
+     * Called by the reader before it waits for more data.
+     *
+     * @throws IOException If the reader must not wait
+     */
+    abstract void beforeAwait() throws IOException;
+
+    /**
+     * Called by the reader when it has taken a buffer from the queue, so that the producer may
+     * send more.
+     */
+    void onTake() {
+    }
+
+    /**
+     * Called when the user closes the stream, to stop the producer.
+     */
+    abstract void onClose();
+
+    /**
+     * Add data to the stream. Must only be called by the producer.
+     *
+     * @param data The data, ownership is transferred to this stream
+     */
+    final void offer(ByteBuf data) {
+        if (state.get() == CLOSED) {
+            data.release();
+            return;
+        }
+        queue.offer(data);
+        if (state.get() == CLOSED) {
+            // closed concurrently, the closing thread may have missed this buffer
+            drainQueue();
+        } else {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Signal that all data has been {@link #offer offered}.
+     */
+    final void complete() {
+        done = true;
+        wakeUp();
+    }
+
+    /**
+     * Fail the stream.
+     *
+     * @param cause The failure
+     * @return {@code false} if the stream has already finished and can't handle the failure
+     */
+    final boolean fail(Throwable cause) {
+        if (failure != null || state.get() == CLOSED) {
+            return false;
+        }
+        failure = cause;
+        if (state.compareAndSet(IDLE, CLOSED)) {
+            releaseBuffers();
+        } else {
+            // the reader will see the failure and release the buffers
+            wakeUp();
+        }
+        return true;
+    }
+
+    /**
+     * @return The failure, if the stream has failed before anything could be read from it
+     */
+    @Nullable
+    final Throwable closedFailure() {
+        return state.get() == CLOSED ? failure : null;
+    }
+
+    /**
+     * @return {@code true} if the user has closed this stream
+     */
+    final boolean isClosed() {
+        return closed;
+    }
+
+    private void wakeUp() {
+        Thread w = waiter;
+        if (w != null) {
+            LockSupport.unpark(w);
+        }
+    }
+
+    private void releaseBuffers() {
+        if (current != null) {
+            current.release();
+            current = null;
+        }
+        drainQueue();
+    }
+
+    private void drainQueue() {
+        if (drainWip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            ByteBuf buf;
+            while ((buf = queue.poll()) != null) {
+                buf.release();
+            }
+        } while (drainWip.decrementAndGet() != 0);
+    }
+
+    /**
+     * Enter the {@link #READING} state.
+     *
+     * @return {@code false} if the stream has already been closed
+     */
+    private boolean enter() throws IOException {
+        if (state.compareAndSet(IDLE, READING)) {
+            return true;
+        }
+        if (state.get() == READING) {
+            throw new IllegalStateException("Concurrent reads are not supported");
+        }
+        Throwable f = failure;
+        if (f != null) {
+            throw new IOException("Failure in netty event loop", f);
+        }
+        return false;
+    }
+
+    private void exit() {
+        if (state.compareAndSet(READING, IDLE) && (failure != null || closed) && state.compareAndSet(IDLE, CLOSED)) {
+            // the producer failed or the stream was closed while we were reading, and nobody
+            // else released the buffers
+            releaseBuffers();
+        }
+    }
+
+    /**
+     * Get the next readable buffer, waiting for more data if necessary. Must hold
+     * {@link #READING}.
+     *
+     * @return The readable buffer, or {@code null} at the end of the stream
+     */
+    private ByteBuf next() throws IOException {
+        while (true) {
+            if (closed) {
+                state.set(CLOSED);
+                releaseBuffers();
+                throw new IOException("Stream closed");
+            }
+            Throwable f = failure;
+            if (f != null) {
+                state.set(CLOSED);
+                releaseBuffers();
+                throw new IOException("Failure in netty event loop", f);
+            }
+            if (current != null) {
+                if (current.isReadable()) {
+                    return current;
+                }
+                current.release();
+                current = null;
+            }
+            current = queue.poll();
+            if (current != null) {
+                onTake();
+                continue;
+            }
+            if (done) {
+                // done is set after the last buffer was offered
+                current = queue.poll();
+                if (current != null) {
+                    continue;
+                }
+                state.set(CLOSED);
+                return null;
+            }
+            await();
+        }
+    }
+
+    private void await() throws IOException {
+        beforeAwait();
+        waiter = Thread.currentThread();
+        try {
+            // recheck after publishing the waiter, the producer may have missed it
+            if (queue.isEmpty() && !done && failure == null && !closed) {
+                LockSupport.park(this);
+            }
+        } finally {
+            waiter = null;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    @Override
+    public final int read() throws IOException {
+        if (!enter()) {
+            return -1;
+        }
+        try {
+            ByteBuf buf = next();
+            return buf == null ? -1 : buf.readUnsignedByte();
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public final int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!enter()) {
+            return -1;
+        }
+        try {
+            ByteBuf buf = next();
+            if (buf == null) {
+                return -1;
+            }
+            int read = Math.min(len, buf.readableBytes());
+            buf.readBytes(b, off, read);
+            return read;
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public final long transferTo(OutputStream out) throws IOException {
+        if (!enter()) {
+            return 0;
+        }
+        try {
+            long transferred = 0;
+            ByteBuf buf;
+            while ((buf = next()) != null) {
+                int n = buf.readableBytes();
+                // writes heap buffers directly from their backing array
+                buf.readBytes(out, n);
+                transferred += n;
+            }
+            return transferred;
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Write the remaining data to the given channel. Direct buffers received from the network
+     * are passed to the channel as they are, without a copy to the heap.
+     *
+     * @param out The target channel
+     * @return The number of bytes transferred
+     * @throws IOException If reading or writing fails
+     */
+    final long transferTo(WritableByteChannel out) throws IOException {
+        if (!enter()) {
+            return 0;
+        }
+        try {
+            long transferred = 0;
+            ByteBuf buf;
+            while ((buf = next()) != null) {
+                for (ByteBuffer nio : buf.nioBuffers()) {
+                    while (nio.hasRemaining()) {
+                        transferred += out.write(nio);
+                    }
+                }
+                buf.skipBytes(buf.readableBytes());
+            }
+            return transferred;
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public final int available() {
+        if (!state.compareAndSet(IDLE, READING)) {
+            return 0;
+        }
+        try {
+            if (current != null && current.isReadable()) {
+                return current.readableBytes();
+            }
+            ByteBuf next = queue.peek();
+            return next == null ? 0 : next.readableBytes();
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public final void close() throws IOException {
+        closed = true;
+        if (state.compareAndSet(IDLE, CLOSED)) {
+            releaseBuffers();
+        } else {
+            // a concurrent reader may be parked, and the producer won't wake it after onClose
+            wakeUp();
+        }
+        onClose();
+    }
+}
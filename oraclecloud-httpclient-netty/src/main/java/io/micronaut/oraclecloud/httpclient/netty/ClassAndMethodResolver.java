@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the value of the {@link NettyClientProperties#CLASS_AND_METHOD_KEY_NAME} attribute,
+ * i.e. the SDK client class and method that created a request.
+ * <p>
+ * The stack walk stops at the first SDK frame instead of capturing the whole stack, and the
+ * per-class information (whether it is an SDK class, its short name, and the formatted
+ * attribute value for each method) is memoized, so that a request from a known call site does
+ * not allocate new strings.
+ *
+ * @since 4.4.0
+ */
+@Internal
+final class ClassAndMethodResolver {
+    /**
+     * Attribute value used when no SDK frame could be found.
+     */
+    static final String UNKNOWN = "N/A";
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final ClassValue<CallerClass> CALLER_CLASSES = new ClassValue<>() {
+        @Override
+        protected CallerClass computeValue(Class<?> type) {
+            return new CallerClass(type.getName());
+        }
+    };
+
+    private ClassAndMethodResolver() {
+    }
+
+    /**
+     * Find the SDK class and method on the current stack.
+     *
+     * @return The attribute value, or {@link #UNKNOWN}
+     */
+    static String resolve() {
+        Optional<StackWalker.StackFrame> frame = WALKER.walk(s -> s
+            .filter(f -> CALLER_CLASSES.get(f.getDeclaringClass()).sdkClass)
+            .findFirst());
+        if (frame.isEmpty()) {
+            return UNKNOWN;
+        }
+        StackWalker.StackFrame f = frame.get();
+        return CALLER_CLASSES.get(f.getDeclaringClass()).name(f.getMethodName());
+    }
+
+    private static final class CallerClass {
+        final boolean sdkClass;
+        final String shortName;
+        final Map<String, String> names = new ConcurrentHashMap<>();
+
+        CallerClass(String className) {
+            sdkClass = className.contains("com.oracle.bmc") && !className.contains("com.oracle.bmc.http.internal");
+            shortName = className.substring(className.lastIndexOf('.') + 1);
+        }
+
+        String name(String methodName) {
+            String name = names.get(methodName);
+            if (name == null) {
+                name = shortName + "." + methodName;
+                String existing = names.putIfAbsent(methodName, name);
+                if (existing != null) {
+                    name = existing;
+                }
+            }
+            return name;
+        }
+    }
+}
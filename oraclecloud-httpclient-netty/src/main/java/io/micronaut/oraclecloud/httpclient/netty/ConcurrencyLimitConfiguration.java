@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.bind.annotation.Bindable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link ConcurrencyLimitFilter}.
+ *
+ * @param enabled        Whether to register the filter for managed clients.
+ * @param initialLimit   The initial number of concurrent requests allowed per endpoint.
+ * @param minLimit       The lower bound of the limit.
+ * @param maxLimit       The upper bound of the limit.
+ * @param backoffRatio   Factor the limit is multiplied with when the endpoint signals overload.
+ * @param maxQueueLength Maximum number of requests per endpoint waiting for the limit. Further
+ *                       requests are rejected immediately.
+ * @param maxQueueTime   Maximum time a request waits for the limit before it is rejected.
+ * @since 4.4.0
+ */
+@ConfigurationProperties(ConcurrencyLimitConfiguration.PREFIX)
+public record ConcurrencyLimitConfiguration(
+    @Bindable(defaultValue = "false")
+    boolean enabled,
+    @Bindable(defaultValue = "20")
+    int initialLimit,
+    @Bindable(defaultValue = "1")
+    int minLimit,
+    @Bindable(defaultValue = "200")
+    int maxLimit,
+    @Bindable(defaultValue = "0.7")
+    double backoffRatio,
+    @Bindable(defaultValue = "100")
+    int maxQueueLength,
+    @Bindable(defaultValue = "1s")
+    Duration maxQueueTime
+) {
+    static final String PREFIX = OciNettyConfiguration.PREFIX + ".concurrency-limit";
+
+    public ConcurrencyLimitConfiguration {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoff-ratio must be between 0 and 1");
+        }
+    }
+}
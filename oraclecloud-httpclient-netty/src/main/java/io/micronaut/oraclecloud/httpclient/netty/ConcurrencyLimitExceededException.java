@@ -0,0 +1,28 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+/**
+ * Thrown when the {@link ConcurrencyLimitFilter} rejects a request before it is sent, because the
+ * endpoint is at its concurrency limit and the request could not be queued.
+ *
+ * @since 4.4.0
+ */
+public final class ConcurrencyLimitExceededException extends RuntimeException {
+    ConcurrencyLimitExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import com.oracle.bmc.http.client.HttpRequest;
+import com.oracle.bmc.http.client.HttpResponse;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import io.netty.util.concurrent.FastThreadLocalThread;
+import jakarta.inject.Singleton;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Client filter that limits the number of concurrent requests per endpoint host, adapting the
+ * limit to the load of the endpoint (AIMD). The limit increases by one per limit's worth of
+ * successful responses, and is multiplied by the
+ * {@link ConcurrencyLimitConfiguration#backoffRatio() backoff ratio} whenever the endpoint
+ * answers with {@code 429 Too Many Requests} or {@code 503 Service Unavailable}. The limit backs
+ * off at most once per window: overload responses to requests that started before the last
+ * decrease do not decrease it again.
+ * <p>
+ * Requests over the limit wait on the calling thread, up to the configured queue length and
+ * time, before they are rejected with a {@link ConcurrencyLimitExceededException} without
+ * reaching the network. This keeps the retries of many SDK clients from amplifying an overload.
+ * Requests made from a netty event loop or another non-blocking thread never wait, because that
+ * thread may be the one that completes the requests in flight; they are rejected immediately
+ * when the endpoint is at its limit.
+ * <p>
+ * For managed clients, the filter is enabled with {@code oci.netty.concurrency-limit.enabled}.
+ * Other clients can add it with {@link NettyClientProperties#OCI_NETTY_CLIENT_FILTERS_KEY}.
+ *
+ * @since 4.4.0
+ */
+@Singleton
+@Requires(property = ConcurrencyLimitConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class ConcurrencyLimitFilter implements OciNettyClientFilter<ConcurrencyLimitFilter.Endpoint> {
+    /**
+     * The order of this filter. It runs before the metrics filter, so that rejected requests do
+     * not appear as requests in flight.
+     */
+    public static final int ORDER = 50;
+
+    private final ConcurrencyLimitConfiguration configuration;
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+    private final List<Consumer<? super Endpoint>> listeners = new CopyOnWriteArrayList<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Register a listener that is called for each endpoint this filter limits, e.g. to register
+     * metrics. The listener is called for the existing endpoints immediately, and for new
+     * endpoints when their first request is made.
+     *
+     * @param listener The listener
+     */
+    public void addEndpointListener(@NonNull Consumer<? super Endpoint> listener) {
+        listeners.add(listener);
+        limiters.values().forEach(listener);
+    }
+
+    @Override
+    public Endpoint beforeRequest(@NonNull HttpRequest request) {
+        Limiter limiter = limiter(request.uri().getHost());
+        Permit permit = limiter.acquire(mayBlock());
+        if (permit == null) {
+            throw new ConcurrencyLimitExceededException("Too many concurrent requests to " + limiter.host + " (limit " + limiter.limit() + ")");
+        }
+        return permit;
+    }
+
+    @Override
+    public HttpResponse afterResponse(@NonNull HttpRequest request, @Nullable HttpResponse response, @Nullable Throwable throwable, @NonNull Endpoint endpoint) {
+        ((Permit) endpoint).release(response != null && (response.status() == 429 || response.status() == 503), response != null && throwable == null);
+        return response;
+    }
+
+    /**
+     * @return {@code false} if the current thread must not wait for the limit, e.g. because it
+     * is a netty event loop
+     */
+    static boolean mayBlock() {
+        return !(Thread.currentThread() instanceof FastThreadLocalThread) && !Schedulers.isInNonBlockingThread();
+    }
+
+    private Limiter limiter(String host) {
+        Limiter limiter = limiters.get(host);
+        if (limiter == null) {
+            Limiter created = new Limiter(host, configuration);
+            limiter = limiters.putIfAbsent(host, created);
+            if (limiter == null) {
+                limiter = created;
+                for (Consumer<? super Endpoint> listener : listeners) {
+                    listener.accept(created);
+                }
+            }
+        }
+        return limiter;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Current state of the limit of one endpoint.
+     */
+    public interface Endpoint {
+        /**
+         * @return The endpoint host
+         */
+        @NonNull
+        String host();
+
+        /**
+         * @return The current concurrency limit
+         */
+        int limit();
+
+        /**
+         * @return The number of requests in flight
+         */
+        int inFlight();
+
+        /**
+         * @return The number of requests currently waiting for the limit
+         */
+        int queued();
+
+        /**
+         * @return The total number of requests that had to wait for the limit
+         */
+        long queuedTotal();
+
+        /**
+         * @return The total number of requests rejected by the limit
+         */
+        long rejectedTotal();
+    }
+
+    /**
+     * AIMD limiter of a single endpoint.
+     */
+    static final class Limiter implements Endpoint {
+        private final String host;
+        private final ConcurrencyLimitConfiguration configuration;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition available = lock.newCondition();
+
+        // written under the lock, volatile for the metrics
+        private volatile double limit;
+        /**
+         * Incremented whenever the limit decreases. Overload signals of permits acquired in an
+         * older window are ignored.
+         */
+        private long window;
+        private volatile int inFlight;
+        private volatile int queued;
+        private volatile long queuedTotal;
+        private volatile long rejectedTotal;
+
+        Limiter(String host, ConcurrencyLimitConfiguration configuration) {
+            this.host = host;
+            this.configuration = configuration;
+            this.limit = configuration.initialLimit();
+        }
+
+        /**
+         * Acquire a slot, waiting for one if the endpoint is at its limit.
+         *
+         * @param mayBlock Whether the calling thread may wait for a slot
+         * @return The permit, or {@code null} if the request was rejected
+         */
+        @Nullable
+        Permit acquire(boolean mayBlock) {
+            lock.lock();
+            try {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    return new Permit(this, window);
+                }
+                long nanos = configuration.maxQueueTime().toNanos();
+                if (!mayBlock || queued >= configuration.maxQueueLength() || nanos <= 0) {
+                    rejectedTotal++;
+                    return null;
+                }
+                queued++;
+                queuedTotal++;
+                try {
+                    while (inFlight >= (int) limit) {
+                        if (nanos <= 0) {
+                            rejectedTotal++;
+                            return null;
+                        }
+                        nanos = available.awaitNanos(nanos);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    rejectedTotal++;
+                    return null;
+                } finally {
+                    queued--;
+                }
+                inFlight++;
+                return new Permit(this, window);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Release a slot and adjust the limit.
+         *
+         * @param permitWindow The {@link #window} the permit was acquired in
+         * @param overloaded   Whether the endpoint signalled overload
+         * @param success      Whether the request completed normally
+         */
+        private void release(long permitWindow, boolean overloaded, boolean success) {
+            lock.lock();
+            try {
+                int previous = (int) limit;
+                if (overloaded) {
+                    if (permitWindow == window) {
+                        limit = Math.max(configuration.minLimit(), limit * configuration.backoffRatio());
+                        window++;
+                    }
+                } else if (success && inFlight >= limit / 2) {
+                    // only grow the limit while it is actually being used
+                    limit = Math.min(configuration.maxLimit(), limit + 1 / limit);
+                }
+                inFlight--;
+                if ((int) limit > previous) {
+                    available.signalAll();
+                } else {
+                    available.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public String host() {
+            return host;
+        }
+
+        @Override
+        public int limit() {
+            return (int) limit;
+        }
+
+        @Override
+        public int inFlight() {
+            return inFlight;
+        }
+
+        @Override
+        public int queued() {
+            return queued;
+        }
+
+        @Override
+        public long queuedTotal() {
+            return queuedTotal;
+        }
+
+        @Override
+        public long rejectedTotal() {
+            return rejectedTotal;
+        }
+
+        @Override
+        public String toString() {
+            return host + " (limit " + limit() + ", in flight " + inFlight + ")";
+        }
+    }
+
+    /**
+     * A slot of a {@link Limiter}, held by one request.
+     */
+    static final class Permit implements Endpoint {
+        private final Limiter limiter;
+        private final long window;
+
+        private Permit(Limiter limiter, long window) {
+            this.limiter = limiter;
+            this.window = window;
+        }
+
+        /**
+         * Release the slot and adjust the limit.
+         *
+         * @param overloaded Whether the endpoint signalled overload
+         * @param success    Whether the request completed normally
+         */
+        void release(boolean overloaded, boolean success) {
+            limiter.release(window, overloaded, success);
+        }
+
+        @Override
+        public String host() {
+            return limiter.host();
+        }
+
+        @Override
+        public int limit() {
+            return limiter.limit();
+        }
+
+        @Override
+        public int inFlight() {
+            return limiter.inFlight();
+        }
+
+        @Override
+        public int queued() {
+            return limiter.queued();
+        }
+
+        @Override
+        public long queuedTotal() {
+            return limiter.queuedTotal();
+        }
+
+        @Override
+        public long rejectedTotal() {
+            return limiter.rejectedTotal();
+        }
+
+        @Override
+        public String toString() {
+            return limiter.toString();
+        }
+    }
+}
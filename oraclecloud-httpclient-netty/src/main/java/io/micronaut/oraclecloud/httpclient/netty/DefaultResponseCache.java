@@ -0,0 +1,372 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * {@link ResponseCache} that keeps the most recently used responses in memory, up to a total body
+ * size. Optionally, responses evicted from memory move to a second, larger tier of files in a
+ * directory, which is also bounded by size. Entries that are not
+ * {@link ResponseCache.Entry#persistent() persistent} are dropped instead. The files are not
+ * encrypted, and only contain a digest of the cache key. Files left in the directory by a previous
+ * process are reused, and count against the size limit of the disk tier.
+ *
+ * @since 4.4.0
+ */
+public final class DefaultResponseCache implements ResponseCache {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultResponseCache.class);
+    private static final int DIGEST_LENGTH = 32;
+    private static final String TMP_PREFIX = "entry";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final long maxMemorySize;
+    @Nullable
+    private final Path diskDirectory;
+    private final long maxDiskSize;
+
+    // both guarded by this
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * File sizes of the disk tier, by file name (the hex digest of the key).
+     */
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long memorySize;
+    private long diskSize;
+
+    /**
+     * @param maxMemorySize Maximum total body size of the responses kept in memory
+     * @param diskDirectory Directory for the disk tier, or {@code null} to only cache in memory.
+     *                      The directory should be reserved for this cache
+     * @param maxDiskSize   Maximum total size of the files of the disk tier
+     */
+    public DefaultResponseCache(long maxMemorySize, @Nullable Path diskDirectory, long maxDiskSize) {
+        this.maxMemorySize = maxMemorySize;
+        this.diskDirectory = diskDirectory;
+        this.maxDiskSize = maxDiskSize;
+        if (diskDirectory != null) {
+            try {
+                Files.createDirectories(diskDirectory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create response cache directory", e);
+            }
+            loadDiskTier();
+        }
+    }
+
+    /**
+     * Index the entries written by a previous process, oldest first, and delete the temporary
+     * files of writes that did not finish.
+     */
+    private void loadDiskTier() {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(diskDirectory)) {
+            files = list.toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list response cache directory", e);
+        }
+        List<Map.Entry<String, BasicFileAttributes>> found = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            try {
+                if (name.startsWith(TMP_PREFIX) && name.endsWith(TMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (isDigest(name)) {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        found.add(Map.entry(name, attributes));
+                    }
+                }
+            } catch (IOException e) {
+                LOG.debug("Failed to load response cache entry", e);
+            }
+        }
+        found.sort(Comparator.comparing(e -> e.getValue().lastModifiedTime()));
+        List<String> evicted;
+        synchronized (this) {
+            for (Map.Entry<String, BasicFileAttributes> e : found) {
+                disk.put(e.getKey(), e.getValue().size());
+                diskSize += e.getValue().size();
+            }
+            evicted = evictFromDisk();
+        }
+        delete(evicted);
+    }
+
+    private static boolean isDigest(String name) {
+        if (name.length() != DIGEST_LENGTH * 2) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.digit(name.charAt(i), 16) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long maxEntrySize() {
+        return Math.min(ResponseCache.super.maxEntrySize(), maxMemorySize);
+    }
+
+    @Override
+    @Nullable
+    public Entry get(@NonNull String key) {
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null || diskDirectory == null) {
+                return entry;
+            }
+        }
+        Entry entry = readFromDisk(key);
+        if (entry != null) {
+            writeToDisk(putInMemory(key, entry));
+        }
+        return entry;
+    }
+
+    /**
+     * Look up a cached response. Memory hits and misses complete immediately. Only reading a file
+     * of the disk tier, and writing the memory entries it evicts, run on the executor.
+     *
+     * @param key                The request key
+     * @param blockingIoExecutor Executor for the file operations
+     * @return The cached response, or {@code null}
+     */
+    @Override
+    @NonNull
+    public CompletionStage<Entry> get(@NonNull String key, @NonNull Executor blockingIoExecutor) {
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null || diskDirectory == null) {
+                return CompletableFuture.completedFuture(entry);
+            }
+        }
+        String name = HexFormat.of().formatHex(digest(key));
+        synchronized (this) {
+            // containsKey does not count as an access of the LRU order, the read below does
+            if (!disk.containsKey(name)) {
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            Entry entry = readFromDisk(key);
+            if (entry != null) {
+                List<Map.Entry<String, Entry>> evicted = putInMemory(key, entry);
+                if (!evicted.isEmpty()) {
+                    // don't make the request wait for the writes
+                    try {
+                        blockingIoExecutor.execute(() -> writeToDisk(evicted));
+                    } catch (RejectedExecutionException e) {
+                        // executor shut down, the evicted entries are dropped
+                    }
+                }
+            }
+            return entry;
+        }, blockingIoExecutor);
+    }
+
+    @Override
+    public void put(@NonNull String key, @NonNull Entry entry) {
+        if (entry.body().length > maxEntrySize()) {
+            return;
+        }
+        writeToDisk(putInMemory(key, entry));
+    }
+
+    /**
+     * Read an entry of the disk tier. The entry stays on disk until it is evicted from the disk
+     * tier, the caller promotes it to memory.
+     */
+    @Nullable
+    private Entry readFromDisk(String key) {
+        String name = HexFormat.of().formatHex(digest(key));
+        synchronized (this) {
+            if (disk.get(name) == null) {
+                return null;
+            }
+        }
+        return read(diskDirectory.resolve(name));
+    }
+
+    /**
+     * Add an entry to the memory tier.
+     *
+     * @return The entries evicted from memory, to move to disk outside the lock
+     */
+    private List<Map.Entry<String, Entry>> putInMemory(String key, Entry entry) {
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = memory.put(key, entry);
+            if (previous != null) {
+                memorySize -= previous.body().length;
+            }
+            memorySize += entry.body().length;
+            Iterator<Map.Entry<String, Entry>> itr = memory.entrySet().iterator();
+            while (memorySize > maxMemorySize && itr.hasNext()) {
+                Map.Entry<String, Entry> eldest = itr.next();
+                itr.remove();
+                memorySize -= eldest.getValue().body().length;
+                evicted.add(eldest);
+            }
+        }
+        return evicted;
+    }
+
+    private void writeToDisk(List<Map.Entry<String, Entry>> evicted) {
+        if (diskDirectory == null) {
+            return;
+        }
+        for (Map.Entry<String, Entry> e : evicted) {
+            if (e.getValue().persistent()) {
+                writeToDisk(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        byte[] digest = digest(key);
+        String name = HexFormat.of().formatHex(digest);
+        Path file = diskDirectory.resolve(name);
+        long size;
+        try {
+            Path tmp = Files.createTempFile(diskDirectory, TMP_PREFIX, TMP_SUFFIX);
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tmp))) {
+                // the key may contain secrets such as an SSE-C key, only persist its digest
+                out.write(digest);
+                out.writeUTF(entry.etag());
+                out.writeInt(entry.headers().size());
+                for (Map.Entry<String, List<String>> header : entry.headers().entrySet()) {
+                    out.writeUTF(header.getKey());
+                    out.writeInt(header.getValue().size());
+                    for (String value : header.getValue()) {
+                        out.writeUTF(value);
+                    }
+                }
+                out.writeInt(entry.body().length);
+                out.write(entry.body());
+            }
+            size = Files.size(tmp);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.debug("Failed to write response cache entry", e);
+            return;
+        }
+        List<String> evicted;
+        synchronized (this) {
+            Long previous = disk.put(name, size);
+            if (previous != null) {
+                diskSize -= previous;
+            }
+            diskSize += size;
+            evicted = evictFromDisk();
+        }
+        delete(evicted);
+    }
+
+    /**
+     * Remove the least recently used files from the index until the disk tier fits its limit.
+     * Must hold the lock.
+     *
+     * @return The names of the removed files, to delete outside the lock
+     */
+    private List<String> evictFromDisk() {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> itr = disk.entrySet().iterator();
+        while (diskSize > maxDiskSize && itr.hasNext()) {
+            Map.Entry<String, Long> eldest = itr.next();
+            itr.remove();
+            diskSize -= eldest.getValue();
+            evicted.add(eldest.getKey());
+        }
+        return evicted;
+    }
+
+    private void delete(List<String> names) {
+        for (String name : names) {
+            try {
+                Files.deleteIfExists(diskDirectory.resolve(name));
+            } catch (IOException e) {
+                LOG.debug("Failed to delete response cache entry", e);
+            }
+        }
+    }
+
+    @Nullable
+    private static Entry read(Path file) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            // the file name is the digest, skip the copy in the file
+            in.skipNBytes(DIGEST_LENGTH);
+            String etag = in.readUTF();
+            int headerCount = in.readInt();
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readInt();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, List.copyOf(values));
+            }
+            byte[] body = in.readNBytes(in.readInt());
+            return new Entry(etag, headers, body);
+        } catch (NoSuchFileException e) {
+            // evicted concurrently
+            return null;
+        } catch (IOException e) {
+            LOG.debug("Failed to read response cache entry", e);
+            return null;
+        }
+    }
+
+    private static byte[] digest(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utilities for writing streamed response bodies, e.g. from Object Storage {@code GetObject},
+ * directly to a file.
+ * <p>
+ * When the body stream was created by the netty client, the netty buffers received from the
+ * network are written to the {@link FileChannel} as they are, without copying them into
+ * {@code byte[]} chunks on the heap first. Other streams are copied the usual way.
+ *
+ * @since 4.4.0
+ */
+public final class FileDownloads {
+    private static final String ETAG_SUFFIX = ".etag";
+
+    private FileDownloads() {
+    }
+
+    /**
+     * Write the remaining body to the given channel, starting at its current position. The
+     * stream is not closed.
+     *
+     * @param body   The response body stream
+     * @param target The target file
+     * @return The number of bytes written
+     * @throws IOException If reading the body or writing the file fails
+     */
+    public static long transferTo(@NonNull InputStream body, @NonNull FileChannel target) throws IOException {
+        if (body instanceof ByteBufQueueInputStream queueStream) {
+            return queueStream.transferTo(target);
+        }
+        return body.transferTo(Channels.newOutputStream(target));
+    }
+
+    /**
+     * Download an object to the given file, resuming where a previous attempt stopped.
+     * <p>
+     * The etag of the object is stored next to the file, in {@code <target>.etag}, before the
+     * first byte is written, and deleted when the download completes. If the file already exists
+     * and is shorter than {@code length}, and that etag file matches {@code etag}, only the
+     * missing part is requested, starting at the current file size. A file that already has the
+     * expected length is not downloaded again. Otherwise, e.g. when the existing bytes come from
+     * another version of the object, or when the length or etag is not known, the file is
+     * truncated and downloaded from the start. If the download fails with an
+     * {@link IOException} while the body is being received, it is resumed in the same way, up to
+     * {@code maxAttempts} times in total.
+     * <p>
+     * Ranged bodies are validated before they are appended: a body that does not start at the
+     * requested offset, or that reports a different total length or etag, fails the download,
+     * since the object has changed. If the endpoint ignores the range and sends the full body,
+     * the file is rewritten from the start. For Object Storage, the body can be opened with a
+     * byte range and {@code if-match}:
+     *
+     * <pre>{@code
+     * HeadObjectResponse head = client.headObject(...);
+     * FileDownloads.download(path, head.getContentLength(), head.getETag(), (offset, ifMatch) -> {
+     *     GetObjectResponse response = client.getObject(GetObjectRequest.builder()
+     *         .namespaceName(namespace)
+     *         .bucketName(bucket)
+     *         .objectName(object)
+     *         .range(offset == 0 ? null : new Range(offset, null))
+     *         .ifMatch(ifMatch)
+     *         .build());
+     *     Range range = response.getContentRange();
+     *     return new FileDownloads.Body(response.getInputStream(),
+     *         range == null ? null : range.getStartByte(),
+     *         range == null ? response.getContentLength() : range.getContentLength(),
+     *         response.getETag());
+     * }, 3);
+     * }</pre>
+     *
+     * @param target      The target file
+     * @param length      The total length of the object, or {@code -1} if unknown. Without it,
+     *                    an existing file is not resumed
+     * @param etag        The etag of the object, or {@code null} to use the etag of the first
+     *                    response. Passed to the opener for {@code if-match}. Without it, an
+     *                    existing file is not resumed
+     * @param opener      Opens the body starting at the given offset
+     * @param maxAttempts The maximum number of times the body is opened
+     * @return The size of the downloaded file
+     * @throws IOException If the download failed in the last attempt, or the object changed
+     */
+    public static long download(@NonNull Path target, long length, @Nullable String etag, @NonNull BodyOpener opener, int maxAttempts) throws IOException {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        Path etagFile = target.resolveSibling(target.getFileName() + ETAG_SUFFIX);
+        long expectedLength = length;
+        String expectedEtag = etag;
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // the etag of the object version the existing bytes were downloaded from
+            String prefixEtag = readEtag(etagFile);
+            if (expectedLength < 0 || etag == null || !etag.equals(prefixEtag) || channel.size() > expectedLength) {
+                // can't tell whether the existing content belongs to this version of the object
+                Files.deleteIfExists(etagFile);
+                prefixEtag = null;
+                channel.truncate(0);
+            }
+            for (int attempt = 1; ; attempt++) {
+                // bytes are written sequentially, so the file size is where the next attempt starts
+                long offset = channel.size();
+                if (offset == expectedLength) {
+                    Files.deleteIfExists(etagFile);
+                    return offset;
+                }
+                try {
+                    Body body = opener.open(offset, expectedEtag);
+                    try (InputStream stream = body.stream()) {
+                        if (body.etag() != null) {
+                            if (expectedEtag != null && !expectedEtag.equals(body.etag())) {
+                                throw new ObjectChangedException("Object etag changed from " + expectedEtag + " to " + body.etag());
+                            }
+                            expectedEtag = body.etag();
+                        }
+                        if (body.totalLength() != null) {
+                            if (expectedLength >= 0 && expectedLength != body.totalLength()) {
+                                throw new ObjectChangedException("Object length changed from " + expectedLength + " to " + body.totalLength());
+                            }
+                            expectedLength = body.totalLength();
+                        }
+                        if (body.rangeStart() == null) {
+                            // the full body, the range was not requested or ignored
+                            channel.truncate(0);
+                        } else if (body.rangeStart() != offset) {
+                            throw new ObjectChangedException("Requested bytes from " + offset + ", but received bytes from " + body.rangeStart());
+                        }
+                        if (expectedEtag != null && !expectedEtag.equals(prefixEtag)) {
+                            // record the version before the first byte, so that a later call
+                            // only resumes the same version
+                            Files.writeString(etagFile, expectedEtag, StandardCharsets.UTF_8);
+                            prefixEtag = expectedEtag;
+                        }
+                        channel.position(channel.size());
+                        transferTo(stream, channel);
+                        if (expectedLength >= 0 && channel.size() != expectedLength) {
+                            throw new EOFException("Body ended after " + channel.size() + " of " + expectedLength + " bytes");
+                        }
+                        Files.deleteIfExists(etagFile);
+                        return channel.size();
+                    }
+                } catch (ObjectChangedException e) {
+                    throw e;
+                } catch (IOException e) {
+                    if (attempt >= maxAttempts) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static String readEtag(Path etagFile) throws IOException {
+        try {
+            return Files.readString(etagFile, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Opens the body of an object for {@link #download(Path, long, String, BodyOpener, int)}.
+     */
+    @FunctionalInterface
+    public interface BodyOpener {
+        /**
+         * Open the body starting at the given offset.
+         *
+         * @param offset  The first byte to download. If this is {@code 0}, the full body should be
+         *                requested
+         * @param ifMatch The etag the object must have, or {@code null} if not known yet
+         * @return The body
+         * @throws IOException If the body could not be opened
+         */
+        @NonNull
+        Body open(long offset, @Nullable String ifMatch) throws IOException;
+    }
+
+    /**
+     * A body opened by a {@link BodyOpener}.
+     *
+     * @param stream      The body stream
+     * @param rangeStart  The first byte of the body, from the {@code content-range} header, or
+     *                    {@code null} if this is the full body
+     * @param totalLength The total length of the object, or {@code null} if unknown
+     * @param etag        The etag of the object, or {@code null} if unknown
+     */
+    public record Body(@NonNull InputStream stream, @Nullable Long rangeStart, @Nullable Long totalLength, @Nullable String etag) {
+        /**
+         * Create a body from the {@code content-range} header of a response.
+         *
+         * @param stream        The body stream
+         * @param contentRange  The {@code content-range} header, e.g. {@code bytes 3-5/6}, or
+         *                      {@code null} if this is the full body
+         * @param contentLength The {@code content-length} of a full body, or {@code -1}
+         * @param etag          The etag of the object, or {@code null}
+         * @return The body
+         * @throws IOException If the header is malformed
+         */
+        @NonNull
+        public static Body of(@NonNull InputStream stream, @Nullable String contentRange, long contentLength, @Nullable String etag) throws IOException {
+            if (contentRange == null) {
+                return new Body(stream, null, contentLength < 0 ? null : contentLength, etag);
+            }
+            String value = contentRange.trim();
+            int dash = value.indexOf('-');
+            int slash = value.indexOf('/');
+            if (!value.startsWith("bytes ") || dash == -1 || slash < dash) {
+                throw new IOException("Malformed content-range: " + contentRange);
+            }
+            try {
+                long start = Long.parseLong(value.substring("bytes ".length(), dash).trim());
+                String total = value.substring(slash + 1).trim();
+                return new Body(stream, start, total.equals("*") ? null : Long.parseLong(total), etag);
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed content-range: " + contentRange, e);
+            }
+        }
+    }
+
+    /**
+     * The object changed between attempts. Not retried, since the file content is inconsistent.
+     */
+    private static final class ObjectChangedException extends IOException {
+        ObjectChangedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -15,18 +15,29 @@
  */
 package io.micronaut.oraclecloud.httpclient.netty;
 
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.netty.NettyHttpHeaders;
 import io.netty.handler.codec.http.HttpHeaders;
 
+import java.util.AbstractList;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
- * {@link java.util.Map} wrapper around netty {@link HttpHeaders}. Read-only.
+ * {@link java.util.Map} view of netty {@link HttpHeaders}. Changes to the map are written
+ * through to the headers, and vice versa.
+ * <p>
+ * Keys are case-insensitive, like the underlying headers. The lists returned by {@link #get}
+ * and the entry set are views as well: they read the values directly from the headers instead
+ * of copying them, so that repeated lookups (e.g. by the request signer) do not allocate. For
+ * the common single-valued header, {@code get(name).get(0)} is a plain header lookup.
  */
-@Deprecated
+@Internal
 final class HeaderMap extends AbstractMap<String, List<String>> {
     private final HttpHeaders headers;
 
@@ -34,12 +45,28 @@ final class HeaderMap extends AbstractMap<String, List<String>> {
         this.headers = headers;
     }
 
+    /**
+     * Create a map view of the given micronaut headers. If the headers are backed by netty
+     * headers, the returned map reads those directly.
+     *
+     * @param headers The headers
+     * @return The map view
+     * @since 4.4.0
+     */
+    static Map<String, List<String>> of(io.micronaut.http.HttpHeaders headers) {
+        if (headers instanceof NettyHttpHeaders nettyHeaders) {
+            return new HeaderMap(nettyHeaders.getNettyHeaders());
+        } else {
+            return new MicronautHeaderMap(headers);
+        }
+    }
+
     @Override
     public Set<Entry<String, List<String>>> entrySet() {
         return new AbstractSet<Entry<String, List<String>>>() {
             @Override
             public Iterator<Entry<String, List<String>>> iterator() {
-                return new HeaderIterator(headers);
+                return new HeaderIterator();
             }
 
             @Override
@@ -51,11 +78,18 @@ final class HeaderMap extends AbstractMap<String, List<String>> {
 
     @Override
     public List<String> get(Object key) {
-        if (!(key instanceof String)) {
+        if (!(key instanceof String s) || !headers.contains(s)) {
             return null;
         }
-        List<String> found = headers.getAll((String) key);
-        return found.isEmpty() ? null : found;
+        return new Values(s);
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+        List<String> previous = headers.getAll(key);
+        // copy first, the value may be a view of this header
+        headers.set(key, List.copyOf(value));
+        return previous.isEmpty() ? null : previous; // follow put() contract
     }
 
     @Override
@@ -70,7 +104,17 @@ final class HeaderMap extends AbstractMap<String, List<String>> {
 
     @Override
     public boolean containsKey(Object key) {
-        return key instanceof String && headers.contains((String) key);
+        return key instanceof String s && headers.contains(s);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return headers.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        headers.clear();
     }
 
     @Override
@@ -78,7 +122,51 @@ final class HeaderMap extends AbstractMap<String, List<String>> {
         return new KeySet();
     }
 
-    private class KeySet extends AbstractSet<String> {
+    /**
+     * Live view of the values of one header.
+     */
+    private final class Values extends AbstractList<String> {
+        private final String name;
+
+        Values(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index == 0) {
+                String first = headers.get(name);
+                if (first != null) {
+                    return first;
+                }
+            } else if (index > 0) {
+                Iterator<String> itr = headers.valueStringIterator(name);
+                for (int i = 0; itr.hasNext(); i++) {
+                    String value = itr.next();
+                    if (i == index) {
+                        return value;
+                    }
+                }
+            }
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return headers.valueStringIterator(name);
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Iterator<String> itr = headers.valueStringIterator(name); itr.hasNext(); itr.next()) {
+                size++;
+            }
+            return size;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<String> {
         @Override
         public boolean contains(Object o) {
             return containsKey(o);
@@ -100,14 +188,8 @@ final class HeaderMap extends AbstractMap<String, List<String>> {
         }
     }
 
-    private static class HeaderIterator implements Iterator<Entry<String, List<String>>> {
-        final HttpHeaders headers;
-        final Iterator<String> keyItr;
-
-        HeaderIterator(HttpHeaders headers) {
-            this.headers = headers;
-            keyItr = headers.names().iterator();
-        }
+    private final class HeaderIterator implements Iterator<Entry<String, List<String>>> {
+        final Iterator<String> keyItr = headers.names().iterator();
 
         @Override
         public boolean hasNext() {
@@ -116,8 +198,11 @@ final class HeaderMap extends AbstractMap<String, List<String>> {
 
         @Override
         public Entry<String, List<String>> next() {
+            if (!keyItr.hasNext()) {
+                throw new NoSuchElementException();
+            }
             String key = keyItr.next();
-            return new SimpleEntry<>(key, headers.getAll(key));
+            return new SimpleImmutableEntry<>(key, new Values(key));
         }
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.json.JsonMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Utilities for JSON request bodies that are serialized directly into a {@link ByteBuf}, without
+ * going through an intermediate {@link String}. The request signer still needs the body as a
+ * {@link String}, which is decoded from the buffer when it is requested.
+ *
+ * @since 4.4.0
+ */
+@Internal
+final class JsonBodies {
+    /**
+     * Header containing the body digest. If this header is present, the request signer does not
+     * need the body contents to compute it.
+     */
+    static final String CONTENT_SHA256 = "x-content-sha256";
+
+    private JsonBodies() {
+    }
+
+    /**
+     * Serialize the given value into a new buffer.
+     *
+     * @param jsonMapper The mapper to use
+     * @param alloc      The allocator for the buffer
+     * @param value      The value to serialize
+     * @return The buffer containing the JSON, must be released by the caller
+     */
+    static ByteBuf serialize(JsonMapper jsonMapper, ByteBufAllocator alloc, Object value) {
+        ByteBuf buf = alloc.buffer();
+        try {
+            try (ByteBufOutputStream out = new ByteBufOutputStream(buf)) {
+                jsonMapper.writeValue(out, value);
+            }
+            return buf;
+        } catch (IOException e) {
+            buf.release();
+            throw new IllegalArgumentException("Unable to process JSON body", e);
+        } catch (RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Compute the {@value #CONTENT_SHA256} header value for the readable bytes of the given
+     * buffer. The buffer is not modified.
+     *
+     * @param buf The body
+     * @return The base64-encoded SHA-256 digest
+     */
+    static String contentSha256(ByteBuf buf) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(buf.nioBuffer(buf.readerIndex(), buf.readableBytes()));
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+}
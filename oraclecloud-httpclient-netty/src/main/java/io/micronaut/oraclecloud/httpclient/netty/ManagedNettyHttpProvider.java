@@ -34,6 +34,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -62,6 +63,11 @@ public class ManagedNettyHttpProvider implements HttpProvider {
     final ExecutorService ioExecutor;
     final JsonMapper jsonMapper;
     final OciNettyConfiguration configuration;
+    /**
+     * Response cache shared by all clients, created on first use.
+     */
+    @Nullable
+    private ResponseCache responseCache;
 
     @Inject
     public ManagedNettyHttpProvider(
@@ -74,7 +80,7 @@ public class ManagedNettyHttpProvider implements HttpProvider {
         @Nullable OciNettyConfiguration configuration
     ) {
         this.mnHttpClientRegistry = mnHttpClientRegistry;
-        this.configuration = configuration == null ? new OciNettyConfiguration(false) : configuration;
+        this.configuration = configuration == null ? OciNettyConfiguration.DEFAULT : configuration;
         this.mnHttpClient = null;
         this.ioExecutor = ioExecutor;
         this.jsonMapper = jsonMapper.cloneWithConfiguration(ociSerdeConfiguration, ociSerializationConfiguration, null);
@@ -92,7 +98,25 @@ public class ManagedNettyHttpProvider implements HttpProvider {
         this.ioExecutor = ioExecutor;
         this.jsonMapper = OciSdkMicronautSerializer.getDefaultObjectMapper();
         this.nettyClientFilters = nettyClientFilters == null ? Collections.emptyList() : nettyClientFilters;
-        this.configuration = new OciNettyConfiguration(false);
+        this.configuration = OciNettyConfiguration.DEFAULT;
+    }
+
+    /**
+     * Get the response cache shared by the clients of this provider.
+     *
+     * @return The cache, or {@code null} if it is disabled
+     */
+    @Nullable
+    synchronized ResponseCache responseCache() {
+        if (responseCache == null && configuration.responseCacheSize() > 0) {
+            String directory = configuration.responseCacheDirectory();
+            responseCache = new DefaultResponseCache(
+                configuration.responseCacheSize(),
+                directory == null ? null : Path.of(directory),
+                configuration.responseCacheDiskSize()
+            );
+        }
+        return responseCache;
     }
 
     @Override
@@ -25,11 +25,11 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.MutableHttpRequest;
-import io.micronaut.http.body.AvailableByteBody;
 import io.micronaut.http.body.ByteBody;
 import io.micronaut.http.body.CloseableByteBody;
 import io.micronaut.http.body.stream.InputStreamByteBody;
 import io.micronaut.http.netty.body.AvailableNettyByteBody;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
@@ -41,8 +41,8 @@ import java.net.URI;
 import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
@@ -50,6 +50,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.CLASS_AND_METHOD_KEY_NAME;
 
@@ -57,15 +58,33 @@ import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.CL
 final class MicronautHttpRequest implements HttpRequest {
 
     private static final long UNKNOWN_CONTENT_LENGTH = -1;
+    /**
+     * Header of SSE-C requests, containing the encryption key.
+     */
+    private static final String SSE_CUSTOMER_KEY = "opc-sse-customer-key";
+    /**
+     * Prefix of the {@link NettyClientProperties#CLASS_AND_METHOD_KEY_NAME} of operations that
+     * return secrets.
+     */
+    private static final String SECRETS_CLIENT_PREFIX = "SecretsClient.";
 
     private final NettyHttpClient client;
 
     private final Map<String, Object> attributes;
 
     private final MutableHttpRequest<?> mnRequest;
+    private final Map<String, List<String>> headerMap;
 
     private final StringBuilder uri;
     private final StringBuilder query;
+    /**
+     * Memoized {@link #buildUri()} and {@link #uri()}. The request signer, the client filters and
+     * the coalescing and cache keys all ask for the URI, it is only built once per request.
+     */
+    @Nullable
+    private String builtUri;
+    @Nullable
+    private URI parsedUri;
 
     private Executor offloadExecutor;
     private Thread blockHint;
@@ -74,13 +93,56 @@ final class MicronautHttpRequest implements HttpRequest {
     private Object returningBody;
     @Nullable
     private CloseableByteBody byteBody;
+    /**
+     * Model of a JSON body. The string representation in {@link #returningBody} is only built
+     * when it is requested.
+     */
+    @Nullable
+    private Object jsonModel;
+    /**
+     * Retained view of the serialized {@link #jsonModel}, used to build the string representation
+     * until the request is sent.
+     */
+    @Nullable
+    private ByteBuf jsonBuffer;
+    /**
+     * Stream passed to {@link #body(InputStream, long)}, if any.
+     */
+    @Nullable
+    private InputStream streamingBody;
+    private long streamingContentLength;
+    /**
+     * Buffered copy of {@link #streamingBody}, shared with copies of this request so that retries
+     * do not need to buffer the stream again.
+     */
+    @Nullable
+    private ReplayableBody replayableBody;
+    private boolean replaying;
+    /**
+     * Key of this request in the {@link NettyHttpClient#responseCache}, if it may use the cache.
+     */
+    @Nullable
+    private String responseCacheKey;
+    private boolean responseCacheLookedUp;
+    /**
+     * Cached response that this request revalidates with {@code if-none-match}.
+     */
+    @Nullable
+    private ResponseCache.Entry responseCacheEntry;
+    /**
+     * Cancellation of the SDK call that created this request, if any.
+     */
+    @Nullable
+    private final SdkCallCancellation cancellation;
 
     public MicronautHttpRequest(NettyHttpClient nettyHttpClient, Method method) {
         client = nettyHttpClient;
+        cancellation = SdkCallCancellation.current();
         this.uri = new StringBuilder(client.baseUri.toString());
         attributes = new HashMap<>();
-        StackWalker.StackFrame frame = StackWalker.getInstance().walk(s -> s.filter(stackFrame -> stackFrame.getClassName().contains("com.oracle.bmc") && !stackFrame.getClassName().contains("com.oracle.bmc.http.internal")).toList()).stream().findFirst().orElse(null);
-        attributes.put(CLASS_AND_METHOD_KEY_NAME, frame == null ? "N/A" : Arrays.stream(frame.getClassName().split("\\.")).reduce((first, second) -> second).orElse("N/A") + "." + frame.getMethodName());
+        if (client.classAndMethodAttribution) {
+            attributes.put(CLASS_AND_METHOD_KEY_NAME, ClassAndMethodResolver.resolve());
+        }
         query = new StringBuilder();
         mnRequest = io.micronaut.http.HttpRequest.create(switch (method) {
             case GET -> HttpMethod.GET;
@@ -90,20 +152,41 @@ final class MicronautHttpRequest implements HttpRequest {
             case PUT -> HttpMethod.PUT;
             case PATCH -> HttpMethod.PATCH;
         }, "");
+        headerMap = HeaderMap.of(mnRequest.getHeaders());
     }
 
     private MicronautHttpRequest(MicronautHttpRequest from) {
         this.client = from.client;
+        this.cancellation = from.cancellation;
         this.attributes = new HashMap<>(from.attributes);
         this.mnRequest = copyRequest(from.mnRequest);
+        this.headerMap = HeaderMap.of(mnRequest.getHeaders());
         this.uri = new StringBuilder(from.uri);
         this.query = new StringBuilder(from.query);
         this.offloadExecutor = from.offloadExecutor;
         this.blockHint = from.blockHint;
         this.expectContinue = from.expectContinue;
+        if (from.responseCacheEntry != null) {
+            // added by execute(), the copy looks up the cache again
+            mnRequest.getHeaders().remove(HttpHeaders.IF_NONE_MATCH);
+        }
 
         this.returningBody = from.returningBody;
-        this.byteBody = from.byteBody == null ? null : from.byteBody.split(ByteBody.SplitBackpressureMode.FASTEST); // todo
+        this.streamingBody = from.streamingBody;
+        this.streamingContentLength = from.streamingContentLength;
+        if (from.replayableBody == null && from.needsReplayableBody()) {
+            from.replayableBody = client.replayableBody(from.streamingBody, from.streamingContentLength);
+        }
+        if (from.replayableBody != null) {
+            // the body is built from the shared buffer in execute()
+            this.replayableBody = from.replayableBody.retain();
+        } else {
+            // in-memory bodies are split without copying. Unbuffered streams are not replayable,
+            // only one of the requests can actually consume them.
+            this.byteBody = from.byteBody == null ? null : from.byteBody.split(ByteBody.SplitBackpressureMode.FASTEST);
+        }
+        this.jsonModel = from.jsonModel;
+        this.jsonBuffer = from.jsonBuffer == null ? null : from.jsonBuffer.retainedDuplicate();
     }
 
     private static MutableHttpRequest<?> copyRequest(io.micronaut.http.HttpRequest<?> original) {
@@ -134,6 +217,14 @@ final class MicronautHttpRequest implements HttpRequest {
         if (byteBody != null) {
             byteBody.close();
         }
+        releaseJsonBuffer();
+        releaseReplayableBody();
+        streamingBody = null;
+        if (jsonModel != null) {
+            jsonModel = null;
+            mnRequest.getHeaders().remove(JsonBodies.CONTENT_SHA256);
+            mnRequest.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        }
 
         if (body instanceof String) {
             byteBody = new AvailableNettyByteBody(ByteBufUtil.encodeString(client.alloc(), CharBuffer.wrap((CharSequence) body), StandardCharsets.UTF_8));
@@ -144,22 +235,49 @@ final class MicronautHttpRequest implements HttpRequest {
             byteBody = AvailableNettyByteBody.empty();
             returningBody = "";
         } else {
-            // todo: would be better to write directly to ByteBuf here, but RequestSignerImpl does not yet support
-            //  anything but String
-            String json;
-            try {
-                json = client.jsonMapper.writeValueAsString(body);
-            } catch (IOException e) {
-                throw new IllegalArgumentException("Unable to process JSON body", e);
-            }
-            byteBody = new AvailableNettyByteBody(ByteBufUtil.encodeString(client.alloc(), CharBuffer.wrap(json), StandardCharsets.UTF_8));
-            returningBody = json;
+            // RequestSignerImpl only supports String bodies, and needs them for the content
+            // headers. We compute those from the serialized bytes directly, so the signer does not
+            // hash the body again. The signing interceptor still calls body(), so signed requests
+            // build the String once, lazily from the buffer.
+            ByteBuf json = JsonBodies.serialize(client.jsonMapper, client.alloc(), body);
+            mnRequest.getHeaders().set(JsonBodies.CONTENT_SHA256, JsonBodies.contentSha256(json));
+            mnRequest.getHeaders().set(HttpHeaders.CONTENT_LENGTH, String.valueOf(json.readableBytes()));
+            jsonModel = body;
+            jsonBuffer = json.retainedDuplicate();
+            byteBody = new AvailableNettyByteBody(json);
+            returningBody = null;
         }
         return this;
     }
 
+    private void releaseJsonBuffer() {
+        if (jsonBuffer != null) {
+            jsonBuffer.release();
+            jsonBuffer = null;
+        }
+    }
+
+    private void releaseReplayableBody() {
+        if (replayableBody != null) {
+            replayableBody.release();
+            replayableBody = null;
+        }
+        replaying = false;
+    }
+
+    /**
+     * Whether the streaming body needs to be buffered before sending, either because the client
+     * is configured to buffer, or because the length is unknown.
+     */
+    private boolean needsReplayableBody() {
+        return streamingBody != null && (client.buffered || streamingContentLength == UNKNOWN_CONTENT_LENGTH) && !expectContinue;
+    }
+
     @Override
     public HttpRequest body(InputStream body, long contentLength) {
+        releaseReplayableBody();
+        streamingBody = body;
+        streamingContentLength = contentLength;
         byteBody = InputStreamByteBody.create(
             body,
             contentLength == UNKNOWN_CONTENT_LENGTH ? OptionalLong.empty() : OptionalLong.of(contentLength),
@@ -172,11 +290,24 @@ final class MicronautHttpRequest implements HttpRequest {
 
     @Override
     public Object body() {
+        if (returningBody == null && jsonModel != null) {
+            if (jsonBuffer != null) {
+                returningBody = jsonBuffer.toString(jsonBuffer.readerIndex(), jsonBuffer.readableBytes(), StandardCharsets.UTF_8);
+            } else {
+                // the request has already been sent, serialize again
+                try {
+                    returningBody = client.jsonMapper.writeValueAsString(jsonModel);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Unable to process JSON body", e);
+                }
+            }
+        }
         return returningBody;
     }
 
     @Override
     public HttpRequest appendPathPart(String encodedPathPart) {
+        invalidateUri();
         boolean hasSlashLeft = uri.charAt(uri.length() - 1) == '/';
         boolean hasSlashRight = encodedPathPart.startsWith("/");
         if (hasSlashLeft) {
@@ -197,6 +328,7 @@ final class MicronautHttpRequest implements HttpRequest {
 
     @Override
     public HttpRequest query(String name, String value) {
+        invalidateUri();
         if (!query.isEmpty()) {
             query.append('&');
         }
@@ -204,19 +336,33 @@ final class MicronautHttpRequest implements HttpRequest {
         return this;
     }
 
+    private void invalidateUri() {
+        builtUri = null;
+        parsedUri = null;
+    }
+
     private String buildUri() {
-        int length = uri.length();
-        if (!query.isEmpty()) {
-            uri.append('?').append(query);
+        String built = builtUri;
+        if (built == null) {
+            int length = uri.length();
+            if (!query.isEmpty()) {
+                uri.append('?').append(query);
+            }
+            built = uri.toString();
+            uri.setLength(length); // remove query again
+            builtUri = built;
         }
-        String built = uri.toString();
-        uri.setLength(length); // remove query again
         return built;
     }
 
     @Override
     public URI uri() {
-        return URI.create(buildUri());
+        URI parsed = parsedUri;
+        if (parsed == null) {
+            parsed = URI.create(buildUri());
+            parsedUri = parsed;
+        }
+        return parsed;
     }
 
     @Override
@@ -230,7 +376,7 @@ final class MicronautHttpRequest implements HttpRequest {
 
     @Override
     public Map<String, List<String>> headers() {
-        return new MicronautHeaderMap(mnRequest.getHeaders());
+        return headerMap;
     }
 
     @Override
@@ -269,37 +415,295 @@ final class MicronautHttpRequest implements HttpRequest {
         if (byteBody != null) {
             byteBody.close();
         }
+        releaseJsonBuffer();
+        releaseReplayableBody();
     }
 
     @Override
     public CompletionStage<HttpResponse> execute() {
+        CompletableFuture<HttpResponse> result = execute0();
+        if (cancellation != null) {
+            cancellation.register(result);
+        }
+        return result;
+    }
+
+    private CompletableFuture<HttpResponse> execute0() {
         // jersey client buffers even when BUFFER_REQUEST is off, if the content length is not explicitly set.
-        if (byteBody != null && !(byteBody instanceof AvailableByteBody) && (client.buffered || byteBody.expectedLength().isEmpty()) && !expectContinue) {
+        if (replayableBody == null && needsReplayableBody()) {
+            replayableBody = client.replayableBody(streamingBody, streamingContentLength);
+        }
+        if (replayableBody != null && !replaying) {
+            replaying = true;
+            streamingBody = null;
+            // asynchronously buffer the body (or reuse the buffer of the request this was copied
+            // from), then run execute() again
+            CloseableByteBody streaming = byteBody;
+            CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+            replayableBody.newBody(client.blockingIoExecutor).whenComplete((v, e) -> {
+                if (streaming != null) {
+                    // never subscribed, the replayable body consumed the stream instead
+                    streaming.close();
+                }
+                if (e != null) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                if (result.isDone()) {
+                    // cancelled while buffering
+                    v.close();
+                    return;
+                }
+                this.byteBody = v;
+                continueExecute(result);
+            });
+            return result;
+        }
 
-            // asynchronously buffer the body, then run execute() again
-            return byteBody.buffer()
-                .thenCompose(v -> {
-                    this.byteBody = v;
-                    return execute();
-                });
+        if (!responseCacheLookedUp) {
+            responseCacheLookedUp = true;
+            responseCacheKey = responseCacheKey();
+            if (responseCacheKey != null) {
+                CompletableFuture<ResponseCache.Entry> lookup;
+                try {
+                    lookup = client.responseCache.get(responseCacheKey, client.blockingIoExecutor).toCompletableFuture();
+                } catch (RejectedExecutionException e) {
+                    // client closed, skip the cache
+                    lookup = CompletableFuture.completedFuture(null);
+                }
+                if (!lookup.isDone()) {
+                    // the cache reads from disk on the blocking IO executor, execute() may run on
+                    // an event loop. Continue when the entry is loaded
+                    CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+                    lookup.whenComplete((entry, e) -> {
+                        if (result.isDone()) {
+                            // cancelled while loading
+                            return;
+                        }
+                        useResponseCacheEntry(e == null ? entry : null);
+                        continueExecute(result);
+                    });
+                    return result;
+                }
+                useResponseCacheEntry(lookup.isCompletedExceptionally() ? null : lookup.join());
+            }
         }
 
+        long interceptStart = System.nanoTime();
         for (RequestInterceptor interceptor : client.requestInterceptors) {
             interceptor.intercept(this);
         }
+        attributes.put(NettyClientProperties.INTERCEPTOR_NANOS_KEY_NAME, System.nanoTime() - interceptStart);
 
         finalizeRequest();
+        releaseJsonBuffer();
+        // the body holds its own reference
+        releaseReplayableBody();
 
         List<Object> filterState = new ArrayList<>(client.nettyClientFilter.size());
-        for (OciNettyClientFilter<?> filter : client.nettyClientFilter) {
-            filterState.add(filter.beforeRequest(this));
+        try {
+            for (OciNettyClientFilter<?> filter : client.nettyClientFilter) {
+                filterState.add(filter.beforeRequest(this));
+            }
+        } catch (RuntimeException e) {
+            // the request is not sent, e.g. because of a concurrency limit. Complete the filters
+            // that have already seen it
+            if (byteBody != null) {
+                byteBody.close();
+            }
+            return runResponseFilters(filterState, null, e);
         }
 
-        return Mono.from(client.upstreamHttpClient.exchange(mnRequest, byteBody, blockHint))
-            .toFuture()
-            .thenApply(r -> (HttpResponse) new MicronautHttpResponse(client.jsonMapper, r, offloadExecutor))
+        CompletableFuture<HttpResponse> response;
+        CompletableFuture<? extends io.micronaut.http.HttpResponse<?>> exchange;
+        if (client.coalescer != null && mnRequest.getMethod() == HttpMethod.GET && byteBody == null) {
+            // the exchange is shared and not cancelled with this request
+            exchange = null;
+            response = client.coalescer.execute(RequestCoalescer.key(mnRequest.getUri().toString(), mnRequest.getHeaders()), this::exchange)
+                .thenApply(s -> (HttpResponse) new MicronautHttpResponse(client.jsonMapper, s.response(), s.body(), offloadExecutor, streamingExecutor()));
+        } else {
+            exchange = exchange();
+            response = exchange.thenApply(r -> (HttpResponse) new MicronautHttpResponse(client.jsonMapper, r, offloadExecutor, streamingExecutor()));
+        }
+        if (responseCacheKey != null) {
+            response = response.thenCompose(this::useResponseCache);
+        }
+        CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+        response
             .exceptionallyCompose(e -> runResponseFilters(filterState, null, e))
-            .thenCompose(r -> runResponseFilters(filterState, r, null));
+            .thenCompose(r -> runResponseFilters(filterState, r, null))
+            .whenComplete((r, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else if (!result.complete(r)) {
+                    // cancelled in the meantime
+                    r.close();
+                }
+            });
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled() && exchange != null) {
+                // cancels the exchange subscription, which aborts the request and frees the connection
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run {@link #execute0()} again after an asynchronous step, and complete {@code result} with
+     * its outcome. A dependent future does not cancel its source, so cancelling {@code result} is
+     * forwarded to the exchange.
+     */
+    private void continueExecute(CompletableFuture<HttpResponse> result) {
+        CompletableFuture<HttpResponse> inner;
+        try {
+            inner = execute0();
+        } catch (RuntimeException e) {
+            // e.g. from an interceptor. There is no caller to throw to on this thread
+            result.completeExceptionally(e);
+            return;
+        }
+        result.whenComplete((r, t) -> {
+            if (result.isCancelled()) {
+                inner.cancel(true);
+            }
+        });
+        inner.whenComplete((r, t) -> {
+            if (t != null) {
+                result.completeExceptionally(t);
+            } else if (!result.complete(r)) {
+                r.close();
+            }
+        });
+    }
+
+    /**
+     * Revalidate the given cached response with this request, if there is one. A failed lookup
+     * counts as a miss.
+     */
+    private void useResponseCacheEntry(@Nullable ResponseCache.Entry entry) {
+        responseCacheEntry = entry;
+        if (entry != null) {
+            mnRequest.getHeaders().set(HttpHeaders.IF_NONE_MATCH, entry.etag());
+        }
+    }
+
+    /**
+     * Get the {@link NettyHttpClient#responseCache} key of this request.
+     *
+     * @return The key, or {@code null} if this request does not use the cache
+     */
+    @Nullable
+    private String responseCacheKey() {
+        if (client.responseCache == null
+            || mnRequest.getMethod() != HttpMethod.GET
+            || byteBody != null
+            // the caller revalidates on its own
+            || mnRequest.getHeaders().contains(HttpHeaders.IF_NONE_MATCH)
+            // the key would contain the customer-provided encryption key
+            || mnRequest.getHeaders().contains(SSE_CUSTOMER_KEY)) {
+            return null;
+        }
+        if (client.responseCacheOperations != null) {
+            Object operation = attributes.get(CLASS_AND_METHOD_KEY_NAME);
+            if (operation == null || !client.responseCacheOperations.contains(operation)) {
+                return null;
+            }
+        }
+        return RequestCoalescer.key(buildUri(), mnRequest.getHeaders());
+    }
+
+    /**
+     * Whether the response of this request may be written to persistent storage by the
+     * {@link NettyHttpClient#responseCache}.
+     */
+    private boolean persistentResponse() {
+        Object operation = attributes.get(CLASS_AND_METHOD_KEY_NAME);
+        if (!(operation instanceof String s) || s.equals(ClassAndMethodResolver.UNKNOWN)) {
+            // can't tell whether the response contains secrets
+            return false;
+        }
+        return !s.startsWith(SECRETS_CLIENT_PREFIX) || client.responseCachePersistentSecretOperations.contains(s);
+    }
+
+    /**
+     * Serve a {@code 304 Not Modified} response from the cache, or store a new cacheable
+     * response.
+     */
+    private CompletableFuture<HttpResponse> useResponseCache(HttpResponse response) {
+        ResponseCache.Entry cached = responseCacheEntry;
+        if (cached != null && response.status() == 304) {
+            response.close();
+            return CompletableFuture.completedFuture(MicronautHttpResponse.cached(client.jsonMapper, cached, offloadExecutor, streamingExecutor()));
+        }
+        if (response.status() != 200) {
+            return CompletableFuture.completedFuture(response);
+        }
+        String etag = firstHeader(response, HttpHeaders.ETAG);
+        long contentLength = contentLength(response);
+        if (etag == null || contentLength < 0 || contentLength > client.responseCache.maxEntrySize()) {
+            return CompletableFuture.completedFuture(response);
+        }
+        String key = responseCacheKey;
+        return ((MicronautHttpResponse) response).bodyAsBuffer()
+            .handle((body, e) -> {
+                Map<String, List<String>> headers = new LinkedHashMap<>();
+                response.headers().forEach((name, values) -> headers.put(name, List.copyOf(values)));
+                response.close();
+                if (e != null) {
+                    throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+                }
+                ResponseCache.Entry entry = new ResponseCache.Entry(etag, headers, body, persistentResponse());
+                storeInResponseCache(key, entry);
+                return MicronautHttpResponse.cached(client.jsonMapper, entry, offloadExecutor, streamingExecutor());
+            });
+    }
+
+    /**
+     * Store a response in the {@link NettyHttpClient#responseCache}. This runs on the blocking
+     * IO executor, because the body usually completes on the event loop, and the cache may write
+     * to disk.
+     */
+    private void storeInResponseCache(String key, ResponseCache.Entry entry) {
+        try {
+            client.blockingIoExecutor.execute(() -> client.responseCache.put(key, entry));
+        } catch (RejectedExecutionException e) {
+            // client closed, the response is not cached
+        }
+    }
+
+    /**
+     * @return The content length of the response, or {@code -1} if it is missing or malformed
+     */
+    private static long contentLength(HttpResponse response) {
+        String value = firstHeader(response, HttpHeaders.CONTENT_LENGTH);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Nullable
+    private static String firstHeader(HttpResponse response, String name) {
+        List<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private CompletableFuture<? extends io.micronaut.http.HttpResponse<?>> exchange() {
+        return Mono.from(client.upstreamHttpClient.exchange(mnRequest, byteBody, blockHint)).toFuture();
+    }
+
+    @Nullable
+    private Executor streamingExecutor() {
+        if (!client.streamingJsonResponse) {
+            return null;
+        }
+        // the offload executor is used for sync calls, where the calling thread may block anyway
+        return offloadExecutor == null ? client.blockingIoExecutor : offloadExecutor;
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
@@ -308,7 +712,7 @@ final class MicronautHttpRequest implements HttpRequest {
             exception = exception.getCause();
         }
 
-        for (int i = client.nettyClientFilter.size() - 1; i >= 0; i--) {
+        for (int i = filterState.size() - 1; i >= 0; i--) {
             try {
                 ((OciNettyClientFilter) client.nettyClientFilter.get(i))
                     .afterResponse(this, response, exception, filterState.get(i));
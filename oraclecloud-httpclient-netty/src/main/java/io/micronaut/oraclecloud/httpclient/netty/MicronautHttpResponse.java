@@ -17,14 +17,20 @@ package io.micronaut.oraclecloud.httpclient.netty;
 
 import com.oracle.bmc.http.client.HttpResponse;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.ByteBodyHttpResponse;
+import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.body.AvailableByteBody;
 import io.micronaut.http.body.ByteBody;
+import io.micronaut.http.body.CloseableByteBody;
+import io.micronaut.http.netty.body.AvailableNettyByteBody;
 import io.micronaut.json.JsonMapper;
+import io.netty.buffer.Unpooled;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
@@ -39,12 +45,50 @@ final class MicronautHttpResponse implements HttpResponse {
     private final JsonMapper jsonMapper;
     private final io.micronaut.http.HttpResponse<?> mnResponse;
     private final Executor offloadExecutor;
+    /**
+     * If present, JSON bodies are parsed from the body stream on this executor, without buffering
+     * the full body first.
+     */
+    @Nullable
+    private final Executor streamingExecutor;
+    /**
+     * If present, the body of this response, for a response that is shared by several coalesced
+     * requests. {@link #mnResponse} is then owned by the {@link RequestCoalescer}.
+     */
+    @Nullable
+    private final CloseableByteBody sharedBody;
     private LimitedBufferingSubscriber limitedBufferingSubscriber;
+    private Map<String, List<String>> headerMap;
 
-    MicronautHttpResponse(JsonMapper jsonMapper, io.micronaut.http.HttpResponse<?> mnResponse, Executor offloadExecutor) {
+    MicronautHttpResponse(JsonMapper jsonMapper, io.micronaut.http.HttpResponse<?> mnResponse, Executor offloadExecutor, @Nullable Executor streamingExecutor) {
+        this(jsonMapper, mnResponse, null, offloadExecutor, streamingExecutor);
+    }
+
+    MicronautHttpResponse(JsonMapper jsonMapper, io.micronaut.http.HttpResponse<?> mnResponse, @Nullable CloseableByteBody sharedBody, Executor offloadExecutor, @Nullable Executor streamingExecutor) {
         this.jsonMapper = jsonMapper;
         this.mnResponse = mnResponse;
+        this.sharedBody = sharedBody;
         this.offloadExecutor = offloadExecutor;
+        this.streamingExecutor = streamingExecutor;
+    }
+
+    /**
+     * Create a response from a {@link ResponseCache} entry.
+     *
+     * @param jsonMapper        The mapper for JSON bodies
+     * @param entry             The cached response
+     * @param offloadExecutor   The offload executor
+     * @param streamingExecutor The streaming executor, if streaming JSON is enabled
+     * @return The response
+     */
+    static MicronautHttpResponse cached(JsonMapper jsonMapper, ResponseCache.Entry entry, Executor offloadExecutor, @Nullable Executor streamingExecutor) {
+        MutableHttpResponse<?> response = io.micronaut.http.HttpResponse.ok();
+        entry.headers().forEach((name, values) -> {
+            for (String value : values) {
+                response.getHeaders().add(name, value);
+            }
+        });
+        return new MicronautHttpResponse(jsonMapper, response, new AvailableNettyByteBody(Unpooled.wrappedBuffer(entry.body())), offloadExecutor, streamingExecutor);
     }
 
     @Override
@@ -54,10 +98,16 @@ final class MicronautHttpResponse implements HttpResponse {
 
     @Override
     public Map<String, List<String>> headers() {
-        return new MicronautHeaderMap(mnResponse.getHeaders());
+        if (headerMap == null) {
+            headerMap = HeaderMap.of(mnResponse.getHeaders());
+        }
+        return headerMap;
     }
 
     private ByteBody byteBody() {
+        if (sharedBody != null) {
+            return sharedBody;
+        }
         if (!(mnResponse instanceof ByteBodyHttpResponse<?> bbhr)) {
             throw new UnsupportedOperationException("A micronaut client filter replaced the HTTP response. This is not supported for the micronaut-oracle-cloud HTTP client.");
         }
@@ -69,14 +119,16 @@ final class MicronautHttpResponse implements HttpResponse {
         ByteBody byteBody = byteBody();
         limitedBufferingSubscriber = new LimitedBufferingSubscriber(4096);
         byteBody.split(ByteBody.SplitBackpressureMode.SLOWEST).toByteBufferPublisher().subscribe(limitedBufferingSubscriber);
-        return CompletableFuture.completedFuture(byteBody.toInputStream());
+        ByteBodyInputStream stream = new ByteBodyInputStream();
+        byteBody.toByteBufferPublisher().subscribe(stream);
+        return CompletableFuture.completedFuture(stream);
     }
 
     /**
      * Get the body as a buffer, falling back to {@link LimitedBufferingBodyHandler} if the body has already been
      * requested previously as another type.
      */
-    private CompletableFuture<byte[]> bodyAsBuffer() {
+    CompletableFuture<byte[]> bodyAsBuffer() {
         if (limitedBufferingSubscriber != null) {
             return limitedBufferingSubscriber.future;
         } else {
@@ -84,8 +136,38 @@ final class MicronautHttpResponse implements HttpResponse {
         }
     }
 
+    /**
+     * Parse the body incrementally as it arrives, if streaming is enabled and the body has not
+     * been requested as another type before.
+     */
+    private boolean streamJson() {
+        return streamingExecutor != null && limitedBufferingSubscriber == null;
+    }
+
+    private <T> CompletionStage<T> streamJson(Argument<T> type, boolean emptyAsNull) {
+        InputStream stream = byteBody().toInputStream();
+        return CompletableFuture.supplyAsync(() -> {
+            try (PushbackInputStream in = new PushbackInputStream(stream)) {
+                if (emptyAsNull) {
+                    // see body(Class) for why we return null here
+                    int first = in.read();
+                    if (first == -1) {
+                        return null;
+                    }
+                    in.unread(first);
+                }
+                return jsonMapper.readValue(in, type);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, streamingExecutor);
+    }
+
     @Override
     public <T> CompletionStage<T> body(Class<T> type) {
+        if (streamJson()) {
+            return streamJson(Argument.of(type), true);
+        }
         return thenApply(bodyAsBuffer(), buf -> {
             try {
                 if (buf.length == 0) {
@@ -118,6 +200,9 @@ final class MicronautHttpResponse implements HttpResponse {
     @Override
     public <T> CompletionStage<List<T>> listBody(Class<T> type) {
         Argument<List<T>> listArgument = Argument.listOf(type);
+        if (streamJson()) {
+            return streamJson(listArgument, false);
+        }
         return thenApply(bodyAsBuffer(), buf -> {
             try {
                 return jsonMapper.readValue(buf, listArgument);
@@ -145,7 +230,9 @@ final class MicronautHttpResponse implements HttpResponse {
         if (limitedBufferingSubscriber != null) {
             limitedBufferingSubscriber.close();
         }
-        if (mnResponse instanceof ByteBodyHttpResponse<?> c) {
+        if (sharedBody != null) {
+            sharedBody.close();
+        } else if (mnResponse instanceof ByteBodyHttpResponse<?> c) {
             c.close();
         }
     }
@@ -20,7 +20,10 @@ import com.oracle.bmc.http.client.HttpRequest;
 import com.oracle.bmc.http.client.HttpResponse;
 import io.micronaut.core.annotation.Internal;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 /**
  * {@link com.oracle.bmc.http.client.HttpClientBuilder#property(ClientProperty, Object) Client properties}
@@ -49,6 +52,131 @@ public final class NettyClientProperties {
      */
     public static final String CLASS_AND_METHOD_KEY_NAME = "class_and_method";
 
+    /**
+     * The Client attribute that stores the time in nanoseconds, as a {@link Long}, that the
+     * request interceptors took for the request. For OCI SDK clients, this includes the time spent
+     * signing the request.
+     *
+     * @since 4.4.0
+     */
+    public static final String INTERCEPTOR_NANOS_KEY_NAME = "interceptor_nanos";
+
+    /**
+     * Whether to populate the {@link #CLASS_AND_METHOD_KEY_NAME} attribute for each request. The
+     * attribute is found by walking the stack of the calling thread, which can be disabled with
+     * this property if no client filter needs it. Defaults to {@code true}.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Boolean> CLASS_AND_METHOD_ATTRIBUTION = ClientProperty.create("classAndMethodAttribution");
+
+    /**
+     * Whether to deserialize JSON response bodies while they are being received, instead of
+     * buffering the full body first. This bounds the memory used for large responses, but the
+     * parsing has to run on a thread that may block. Defaults to {@code false}.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Boolean> STREAMING_JSON_RESPONSE = ClientProperty.create("streamingJsonResponse");
+
+    /**
+     * Maximum number of bytes of a streaming request body that are buffered in memory, when the
+     * body needs to be buffered (see
+     * {@link com.oracle.bmc.http.client.StandardClientProperties#BUFFER_REQUEST}). Larger bodies
+     * are spilled to a temporary file. The buffered body is reused when the request is retried.
+     * Defaults to 1MiB.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Integer> REQUEST_BODY_MEMORY_LIMIT = ClientProperty.create("requestBodyMemoryLimit");
+
+    /**
+     * Directory for the temporary files of request bodies that exceed
+     * {@link #REQUEST_BODY_MEMORY_LIMIT}. Defaults to the {@code java.io.tmpdir} directory.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Path> REQUEST_BODY_SPILL_DIRECTORY = ClientProperty.create("requestBodySpillDirectory");
+
+    /**
+     * Whether to negotiate HTTP/2 with ALPN for TLS connections, falling back to HTTP/1.1 if the
+     * server does not support it. With HTTP/2, concurrent requests to the same endpoint are
+     * multiplexed over few connections. Not supported by the legacy netty client. Defaults to
+     * {@code false}.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Boolean> HTTP2 = ClientProperty.create("http2");
+
+    /**
+     * Number of connections to open to the base URI when the client is created, so that the first
+     * requests do not have to wait for connection setup and the TLS handshake. The warm-up
+     * requests are {@code HEAD} requests whose responses are discarded. Not supported by the
+     * legacy netty client. Defaults to {@code 0}.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Integer> WARMUP_CONNECTIONS = ClientProperty.create("warmupConnections");
+
+    /**
+     * Whether to run blocking stream I/O (reading request body streams, writing response body
+     * streams) on virtual threads instead of a platform thread pool. For managed clients, this
+     * replaces the {@code blocking} executor for this client. Ignored with a warning if the JVM
+     * does not support virtual threads. Defaults to {@code false}.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Boolean> VIRTUAL_THREADS = ClientProperty.create("virtualThreads");
+
+    /**
+     * If set, virtual threads of clients with {@link #VIRTUAL_THREADS} enabled are monitored using
+     * JFR, and a warning is logged whenever one of them is pinned to its carrier thread for longer
+     * than this duration.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Duration> VIRTUAL_THREAD_PINNING_THRESHOLD = ClientProperty.create("virtualThreadPinningThreshold");
+
+    /**
+     * Whether concurrent identical GET requests of this client share a single exchange. Requests
+     * are identical if they have the same URI and the same values for the headers that change
+     * the response, such as {@code Accept} or {@code Range}. Each request receives its own copy
+     * of the response body. Not supported by the legacy client. Defaults to {@code false}.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Boolean> COALESCE_GET_REQUESTS = ClientProperty.create("coalesceGetRequests");
+
+    /**
+     * Cache for GET responses with an {@code etag}. Cached responses are revalidated with
+     * {@code if-none-match}, and their body is reused if the endpoint answers {@code 304 Not
+     * Modified}. Not supported by the legacy client. By default, managed clients share a
+     * {@link DefaultResponseCache} if {@code oci.netty.response-cache-size} is set, and other
+     * clients have no cache.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<ResponseCache> RESPONSE_CACHE = ClientProperty.create("responseCache");
+
+    /**
+     * The operations that use the {@link #RESPONSE_CACHE}, as {@link #CLASS_AND_METHOD_KEY_NAME}
+     * values, e.g. {@code SecretsClient.getSecretBundle}. By default, all GET requests use the
+     * cache.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Set<String>> RESPONSE_CACHE_OPERATIONS = ClientProperty.create("responseCacheOperations");
+
+    /**
+     * Operations that return secrets, such as {@code SecretsClient.getSecretBundle}, whose
+     * responses may nevertheless be moved to the persistent tier of the {@link #RESPONSE_CACHE}.
+     * By default, responses of {@code SecretsClient} operations, and responses of requests without
+     * {@link #CLASS_AND_METHOD_KEY_NAME} attribution, are only cached in memory.
+     *
+     * @since 4.4.0
+     */
+    public static final ClientProperty<Set<String>> RESPONSE_CACHE_PERSISTENT_SECRET_OPERATIONS = ClientProperty.create("responseCachePersistentSecretOperations");
+
     /**
      * The {@link ManagedNettyHttpProvider} to use for this client.
      */
@@ -24,7 +24,9 @@ import com.oracle.bmc.http.client.Method;
 import com.oracle.bmc.http.client.RequestInterceptor;
 import com.oracle.bmc.http.client.StandardClientProperties;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.order.OrderUtil;
+import io.micronaut.http.ByteBodyHttpResponse;
 import io.micronaut.http.client.DefaultHttpClientConfiguration;
 import io.micronaut.http.client.HttpVersionSelection;
 import io.micronaut.http.client.RawHttpClient;
@@ -33,19 +35,26 @@ import io.micronaut.http.client.netty.ConnectionManager;
 import io.micronaut.http.client.netty.DefaultHttpClient;
 import io.micronaut.json.JsonMapper;
 import io.micronaut.oraclecloud.serde.OciSdkMicronautSerializer;
+import io.micronaut.scheduling.LoomSupport;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.codec.PrematureChannelClosureException;
 import io.netty.handler.timeout.ReadTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
@@ -54,6 +63,8 @@ import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.OC
 
 @Internal
 final class NettyHttpClient implements HttpClient {
+    private static final Logger LOG = LoggerFactory.getLogger(NettyHttpClient.class);
+
     /**
      * Default settings of {@link ClientConfiguration}. They are set by BaseClient,
      * so we ignore them if they are the default value.
@@ -72,6 +83,32 @@ final class NettyHttpClient implements HttpClient {
     final String host;
     final int port;
     final boolean buffered;
+    final boolean classAndMethodAttribution;
+    final boolean streamingJsonResponse;
+    final boolean http2;
+    /**
+     * Shares exchanges of identical GET requests, {@code null} if disabled.
+     */
+    @Nullable
+    final RequestCoalescer coalescer;
+    /**
+     * Cache for revalidating GET responses, {@code null} if disabled.
+     */
+    @Nullable
+    final ResponseCache responseCache;
+    /**
+     * The operations that use the {@link #responseCache}, {@code null} for all.
+     */
+    @Nullable
+    final Set<String> responseCacheOperations;
+    /**
+     * Operations returning secrets whose responses may still be persisted by the
+     * {@link #responseCache}.
+     */
+    final Set<String> responseCachePersistentSecretOperations;
+    final int requestBodyMemoryLimit;
+    @Nullable
+    final Path requestBodySpillDirectory;
     final ConnectionManager connectionManager;
     final RawHttpClient upstreamHttpClient;
     final DefaultHttpClient.RequestKey requestKey;
@@ -88,6 +125,25 @@ final class NettyHttpClient implements HttpClient {
 
     NettyHttpClient(NettyHttpClientBuilder builder) {
         this.legacyNettyClient = LEGACY_NETTY_CLIENT || (builder.managedProvider != null && builder.managedProvider.configuration.legacyNettyClient());
+        OciNettyConfiguration configuration = builder.managedProvider == null ? OciNettyConfiguration.DEFAULT : builder.managedProvider.configuration;
+        this.http2 = builder.http2 == null ? configuration.http2() : builder.http2;
+        if (http2 && legacyNettyClient) {
+            throw new IllegalArgumentException("HTTP/2 is not supported by the legacy netty client");
+        }
+        boolean coalesce = builder.coalesceGetRequests == null ? configuration.coalesceGetRequests() : builder.coalesceGetRequests;
+        this.coalescer = coalesce && !legacyNettyClient ? new RequestCoalescer() : null;
+        if (legacyNettyClient) {
+            this.responseCache = null;
+        } else if (builder.responseCache != null) {
+            this.responseCache = builder.responseCache;
+        } else {
+            this.responseCache = builder.managedProvider == null ? null : builder.managedProvider.responseCache();
+        }
+        this.responseCacheOperations = builder.responseCacheOperations == null ? configuration.responseCacheOperations() : builder.responseCacheOperations;
+        Set<String> persistentSecretOperations = builder.responseCachePersistentSecretOperations == null ? configuration.responseCachePersistentSecretOperations() : builder.responseCachePersistentSecretOperations;
+        this.responseCachePersistentSecretOperations = persistentSecretOperations == null ? Set.of() : persistentSecretOperations;
+        boolean virtualThreads = builder.virtualThreads == null ? configuration.virtualThreads() : builder.virtualThreads;
+        Duration pinningThreshold = builder.virtualThreadPinningThreshold == null ? configuration.virtualThreadPinningThreshold() : builder.virtualThreadPinningThreshold;
         RawHttpClient mnClient;
         if (builder.managedProvider == null) {
             hasContext = false;
@@ -99,8 +155,9 @@ final class NettyHttpClient implements HttpClient {
             if (builder.properties.containsKey(StandardClientProperties.READ_TIMEOUT)) {
                 cfg.setReadTimeout((Duration) builder.properties.get(StandardClientProperties.READ_TIMEOUT));
             }
+            configureHttpVersion(cfg, http2);
             mnClient = RawHttpClient.create(null, cfg);
-            blockingIoExecutor = Executors.newCachedThreadPool();
+            blockingIoExecutor = newBlockingIoExecutor(virtualThreads, pinningThreshold);
             jsonMapper = OciSdkMicronautSerializer.getDefaultObjectMapper();
         } else {
             hasContext = true;
@@ -112,15 +169,17 @@ final class NettyHttpClient implements HttpClient {
             if (builder.managedProvider.mnHttpClient != null) {
                 mnClient = builder.managedProvider.mnHttpClient;
             } else {
+                DefaultHttpClientConfiguration versionConfiguration = new DefaultHttpClientConfiguration();
+                configureHttpVersion(versionConfiguration, http2);
                 mnClient = builder.managedProvider.mnHttpClientRegistry.getRawClient(
-                    HttpVersionSelection.forClientConfiguration(new DefaultHttpClientConfiguration()),
-                    builder.serviceId,
+                    HttpVersionSelection.forClientConfiguration(versionConfiguration),
+                    builder.serviceId == null ? configuration.serviceId(Objects.requireNonNull(builder.baseUri, "baseUri")) : builder.serviceId,
                     null
                 );
             }
-            if (builder.managedProvider.ioExecutor == null) {
+            if (builder.managedProvider.ioExecutor == null || virtualThreads) {
                 ownsThreadPool = true;
-                blockingIoExecutor = Executors.newCachedThreadPool();
+                blockingIoExecutor = newBlockingIoExecutor(virtualThreads, pinningThreshold);
             } else {
                 ownsThreadPool = false;
                 blockingIoExecutor = builder.managedProvider.ioExecutor;
@@ -145,6 +204,69 @@ final class NettyHttpClient implements HttpClient {
         this.port = builder.baseUri.getPort();
         this.host = builder.baseUri.getHost();
         this.buffered = builder.buffered;
+        this.classAndMethodAttribution = builder.classAndMethodAttribution == null ? configuration.classAndMethodAttribution() : builder.classAndMethodAttribution;
+        this.streamingJsonResponse = builder.streamingJsonResponse == null ? configuration.streamingJsonResponse() : builder.streamingJsonResponse;
+        this.requestBodyMemoryLimit = builder.requestBodyMemoryLimit == null ? configuration.requestBodyMemoryLimit() : builder.requestBodyMemoryLimit;
+        if (builder.requestBodySpillDirectory != null) {
+            this.requestBodySpillDirectory = builder.requestBodySpillDirectory;
+        } else if (configuration.requestBodySpillDirectory() != null) {
+            this.requestBodySpillDirectory = Path.of(configuration.requestBodySpillDirectory());
+        } else {
+            this.requestBodySpillDirectory = null;
+        }
+
+        int warmupConnections = builder.warmupConnections == null ? configuration.warmupConnections() : builder.warmupConnections;
+        if (warmupConnections > 0 && !legacyNettyClient) {
+            warmUp(warmupConnections);
+        }
+    }
+
+    private static ExecutorService newBlockingIoExecutor(boolean virtualThreads, @Nullable Duration pinningThreshold) {
+        if (virtualThreads) {
+            if (LoomSupport.isSupported()) {
+                if (pinningThreshold != null) {
+                    VirtualThreadPinningMonitor.start(pinningThreshold);
+                }
+                return LoomSupport.newThreadPerTaskExecutor(LoomSupport.newVirtualThreadFactory(VirtualThreadPinningMonitor.THREAD_NAME_PREFIX));
+            }
+            LOG.warn("Virtual threads are not supported by this JVM, falling back to platform threads for blocking OCI client I/O");
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Open connections to the base URI by sending concurrent {@code HEAD} requests. The
+     * connections stay in the pool for the real requests. Failures are ignored, a real request
+     * will report them properly.
+     *
+     * @param connections The number of connections to open
+     */
+    private void warmUp(int connections) {
+        for (int i = 0; i < connections; i++) {
+            Mono.from(upstreamHttpClient.exchange(io.micronaut.http.HttpRequest.HEAD(baseUri.toString()), null, null))
+                .subscribe(response -> {
+                    if (response instanceof ByteBodyHttpResponse<?> c) {
+                        c.close();
+                    }
+                }, e -> LOG.debug("Connection warm-up for {} failed", baseUri, e));
+        }
+    }
+
+    /**
+     * Set up the HTTP version negotiation. The other connection settings of the managed client
+     * come from the service configuration.
+     *
+     * @param cfg   The configuration to modify
+     * @param http2 Whether to offer HTTP/2 during the TLS handshake
+     */
+    private static void configureHttpVersion(DefaultHttpClientConfiguration cfg, boolean http2) {
+        if (http2) {
+            cfg.setAlpnModes(List.of(HttpVersionSelection.ALPN_HTTP_2, HttpVersionSelection.ALPN_HTTP_1));
+        }
+    }
+
+    ReplayableBody replayableBody(InputStream body, long contentLength) {
+        return new ReplayableBody(body, contentLength, requestBodyMemoryLimit, alloc(), requestBodySpillDirectory);
     }
 
     ByteBufAllocator alloc() {
@@ -24,11 +24,14 @@ import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
 
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.OCI_NETTY_CLIENT_FILTERS_KEY;
 
@@ -42,7 +45,39 @@ final class NettyHttpClientBuilder implements HttpClientBuilder {
     final Map<ClientProperty<?>, Object> properties = new HashMap<>();
     URI baseUri;
     boolean buffered = true;
-    String serviceId = ManagedNettyHttpProvider.SERVICE_ID;
+    /*
+     * The settings below are null unless set through a property. NettyHttpClient falls back to
+     * the OciNettyConfiguration of the managed provider, or OciNettyConfiguration.DEFAULT.
+     */
+    @Nullable
+    Boolean classAndMethodAttribution;
+    @Nullable
+    Boolean streamingJsonResponse;
+    @Nullable
+    Integer requestBodyMemoryLimit;
+    @Nullable
+    Path requestBodySpillDirectory;
+    @Nullable
+    Boolean http2;
+    @Nullable
+    Integer warmupConnections;
+    @Nullable
+    Boolean virtualThreads;
+    @Nullable
+    Duration virtualThreadPinningThreshold;
+    @Nullable
+    Boolean coalesceGetRequests;
+    @Nullable
+    ResponseCache responseCache;
+    @Nullable
+    Set<String> responseCacheOperations;
+    @Nullable
+    Set<String> responseCachePersistentSecretOperations;
+    /**
+     * Explicit service ID, {@code null} to pick one based on the endpoint.
+     */
+    @Nullable
+    String serviceId;
 
     NettyHttpClientBuilder(@Nullable ManagedNettyHttpProvider managedProvider) {
         this.managedProvider = managedProvider;
@@ -64,6 +99,7 @@ final class NettyHttpClientBuilder implements HttpClientBuilder {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> HttpClientBuilder property(ClientProperty<T> key, T value) {
         if (key == StandardClientProperties.READ_TIMEOUT ||
             key == StandardClientProperties.CONNECT_TIMEOUT ||
@@ -72,6 +108,33 @@ final class NettyHttpClientBuilder implements HttpClientBuilder {
             properties.put(key, value);
         } else if (key == StandardClientProperties.BUFFER_REQUEST) {
             buffered = (Boolean) value;
+        } else if (key == NettyClientProperties.CLASS_AND_METHOD_ATTRIBUTION) {
+            classAndMethodAttribution = (Boolean) value;
+        } else if (key == NettyClientProperties.STREAMING_JSON_RESPONSE) {
+            streamingJsonResponse = (Boolean) value;
+        } else if (key == NettyClientProperties.REQUEST_BODY_MEMORY_LIMIT) {
+            if ((Integer) value < 0) {
+                throw new IllegalArgumentException("The request body memory limit must not be negative");
+            }
+            requestBodyMemoryLimit = (Integer) value;
+        } else if (key == NettyClientProperties.REQUEST_BODY_SPILL_DIRECTORY) {
+            requestBodySpillDirectory = (Path) value;
+        } else if (key == NettyClientProperties.HTTP2) {
+            http2 = (Boolean) value;
+        } else if (key == NettyClientProperties.WARMUP_CONNECTIONS) {
+            warmupConnections = (Integer) value;
+        } else if (key == NettyClientProperties.VIRTUAL_THREADS) {
+            virtualThreads = (Boolean) value;
+        } else if (key == NettyClientProperties.VIRTUAL_THREAD_PINNING_THRESHOLD) {
+            virtualThreadPinningThreshold = (Duration) value;
+        } else if (key == NettyClientProperties.COALESCE_GET_REQUESTS) {
+            coalesceGetRequests = (Boolean) value;
+        } else if (key == NettyClientProperties.RESPONSE_CACHE) {
+            responseCache = (ResponseCache) value;
+        } else if (key == NettyClientProperties.RESPONSE_CACHE_OPERATIONS) {
+            responseCacheOperations = (Set<String>) value;
+        } else if (key == NettyClientProperties.RESPONSE_CACHE_PERSISTENT_SECRET_OPERATIONS) {
+            responseCachePersistentSecretOperations = (Set<String>) value;
         } else if (key == NettyClientProperties.SERVICE_ID) {
             if (managedProvider == null) {
                 throw new IllegalArgumentException("Can only configure the service ID for the managed netty http client");
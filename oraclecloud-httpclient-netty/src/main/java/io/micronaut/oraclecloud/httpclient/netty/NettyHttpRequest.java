@@ -19,6 +19,7 @@ import com.oracle.bmc.http.client.HttpRequest;
 import com.oracle.bmc.http.client.HttpResponse;
 import com.oracle.bmc.http.client.Method;
 import com.oracle.bmc.http.client.RequestInterceptor;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.client.netty.BlockHint;
 import io.micronaut.http.client.netty.ConnectionManager;
 import io.netty.buffer.ByteBuf;
@@ -27,6 +28,7 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.PrematureChannelClosureException;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
@@ -36,20 +38,22 @@ import io.netty.handler.codec.http.EmptyHttpHeaders;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpChunkedInput;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +71,7 @@ final class NettyHttpRequest implements HttpRequest {
     private static final String HANDLER_PREFACE = "preface";
     private static final String HANDLER_UNDECIDED_BODY = "undecided-body";
     private static final String HANDLER_LIMITED_BUFFERING = "limited-buffering";
+    private static final String HANDLER_CHUNKED_WRITE = "chunked-write";
 
     private final NettyHttpClient client;
 
@@ -74,6 +79,7 @@ final class NettyHttpRequest implements HttpRequest {
 
     private final Method method;
     private final HttpHeaders headers;
+    private final HeaderMap headerMap;
 
     private final StringBuilder uri;
     private final StringBuilder query;
@@ -86,15 +92,22 @@ final class NettyHttpRequest implements HttpRequest {
     private ByteBuf immediateBody;
     private InputStream blockingBody;
     private long blockingContentLength;
+    /**
+     * Buffered {@link #blockingBody} that exceeded the memory limit.
+     */
+    @Nullable
+    private ReplayableBody spilledBody;
 
     public NettyHttpRequest(NettyHttpClient nettyHttpClient, Method method) {
         client = nettyHttpClient;
         this.method = method;
         this.uri = new StringBuilder(client.baseUri.toString());
         attributes = new HashMap<>();
-        StackWalker.StackFrame frame = StackWalker.getInstance().walk(s -> s.filter(stackFrame -> stackFrame.getClassName().contains("com.oracle.bmc") && !stackFrame.getClassName().contains("com.oracle.bmc.http.internal")).toList()).stream().findFirst().orElse(null);
-        attributes.put(CLASS_AND_METHOD_KEY_NAME, frame == null ? "N/A" : Arrays.stream(frame.getClassName().split("\\.")).reduce((first, second) -> second).orElse("N/A") + "." + frame.getMethodName());
+        if (client.classAndMethodAttribution) {
+            attributes.put(CLASS_AND_METHOD_KEY_NAME, ClassAndMethodResolver.resolve());
+        }
         headers = new DefaultHttpHeaders();
+        headerMap = new HeaderMap(headers);
         query = new StringBuilder();
     }
 
@@ -103,6 +116,7 @@ final class NettyHttpRequest implements HttpRequest {
         this.attributes = new HashMap<>(from.attributes);
         this.method = from.method;
         this.headers = from.headers.copy();
+        this.headerMap = new HeaderMap(headers);
         this.uri = new StringBuilder(from.uri);
         this.query = new StringBuilder(from.query);
         this.offloadExecutor = from.offloadExecutor;
@@ -113,6 +127,7 @@ final class NettyHttpRequest implements HttpRequest {
         this.immediateBody = from.immediateBody == null ? null : from.immediateBody.retainedDuplicate();
         this.blockingBody = from.blockingBody;
         this.blockingContentLength = from.blockingContentLength;
+        this.spilledBody = from.spilledBody == null ? null : from.spilledBody.retain();
     }
 
     @Override
@@ -124,6 +139,7 @@ final class NettyHttpRequest implements HttpRequest {
     public HttpRequest body(Object body) {
         immediateBody = null;
         blockingBody = null;
+        releaseSpilledBody();
 
         if (body instanceof String) {
             immediateBody = ByteBufUtil.encodeString(client.alloc(), CharBuffer.wrap((CharSequence) body), StandardCharsets.UTF_8);
@@ -134,16 +150,11 @@ final class NettyHttpRequest implements HttpRequest {
             immediateBody = Unpooled.EMPTY_BUFFER;
             returningBody = "";
         } else {
-            // todo: would be better to write directly to ByteBuf here, but RequestSignerImpl does not yet support
-            //  anything but String
-            String json;
-            try {
-                json = client.jsonMapper.writeValueAsString(body);
-            } catch (IOException e) {
-                throw new IllegalArgumentException("Unable to process JSON body", e);
-            }
-            immediateBody = ByteBufUtil.encodeString(client.alloc(), CharBuffer.wrap(json), StandardCharsets.UTF_8);
-            returningBody = json;
+            // RequestSignerImpl does not yet support anything but String, so we still need to
+            // decode the body, but at least the serializer writes to the ByteBuf directly.
+            immediateBody = JsonBodies.serialize(client.jsonMapper, client.alloc(), body);
+            headers.set(JsonBodies.CONTENT_SHA256, JsonBodies.contentSha256(immediateBody));
+            returningBody = immediateBody.toString(StandardCharsets.UTF_8);
         }
         return this;
     }
@@ -151,6 +162,7 @@ final class NettyHttpRequest implements HttpRequest {
     @Override
     public HttpRequest body(InputStream body, long contentLength) {
         immediateBody = null;
+        releaseSpilledBody();
         blockingBody = body;
         blockingContentLength = contentLength;
         returningBody = body;
@@ -217,7 +229,7 @@ final class NettyHttpRequest implements HttpRequest {
 
     @Override
     public Map<String, List<String>> headers() {
-        return new HeaderMap(headers);
+        return headerMap;
     }
 
     @Override
@@ -256,6 +268,14 @@ final class NettyHttpRequest implements HttpRequest {
         if (immediateBody != null) {
             immediateBody.release();
         }
+        releaseSpilledBody();
+    }
+
+    private void releaseSpilledBody() {
+        if (spilledBody != null) {
+            spilledBody.release();
+            spilledBody = null;
+        }
     }
 
     @Override
@@ -264,13 +284,27 @@ final class NettyHttpRequest implements HttpRequest {
         if (blockingBody != null && (client.buffered || blockingContentLength == UNKNOWN_CONTENT_LENGTH) && !expectContinue) {
 
             // asynchronously buffer the body, then run execute() again
-            return CompletableFuture.runAsync(this::bufferBody, client.blockingIoExecutor)
+            ReplayableBody buffered = client.replayableBody(blockingBody, blockingContentLength);
+            blockingBody = null;
+            return buffered.fill(client.blockingIoExecutor)
+                    .whenComplete((v, e) -> {
+                        if (e != null) {
+                            buffered.release();
+                        } else if (buffered.spilled()) {
+                            spilledBody = buffered;
+                        } else {
+                            immediateBody = buffered.content();
+                            buffered.release();
+                        }
+                    })
                     .thenCompose(v -> execute());
         }
 
+        long interceptStart = System.nanoTime();
         for (RequestInterceptor interceptor : client.requestInterceptors) {
             interceptor.intercept(this);
         }
+        attributes.put(NettyClientProperties.INTERCEPTOR_NANOS_KEY_NAME, System.nanoTime() - interceptStart);
 
         CompletableFuture<HttpResponse> result = new CompletableFuture<>();
 
@@ -294,26 +328,6 @@ final class NettyHttpRequest implements HttpRequest {
         return result;
     }
 
-    private void bufferBody() {
-        ByteBuf buf = (blockingContentLength == UNKNOWN_CONTENT_LENGTH ?
-                client.alloc().buffer() :
-                client.alloc().buffer(Math.toIntExact(blockingContentLength)));
-        try {
-            byte[] arr = new byte[4096];
-            while (true) {
-                int n = blockingBody.read(arr);
-                if (n == -1) {
-                    break;
-                }
-                buf.writeBytes(arr, 0, n);
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
-        blockingBody = null;
-        immediateBody = buf;
-    }
-
     private boolean delayImmediateBody() {
         // immediateBody.isReadable() can change over time, but only from true to false, which is fine
         return expectContinue && immediateBody != null && immediateBody.isReadable();
@@ -361,6 +375,11 @@ final class NettyHttpRequest implements HttpRequest {
                 }
             }
             nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1, method, pathAndQuery, headers);
+        } else if (spilledBody != null) {
+            if (!hasTransferHeader) {
+                headers.add(HttpHeaderNames.CONTENT_LENGTH, spilledBody.length());
+            }
+            nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1, method, pathAndQuery, headers);
         } else {
             ByteBuf body = immediateBody == null ? Unpooled.EMPTY_BUFFER : immediateBody;
             if (!hasTransferHeader) {
@@ -405,7 +424,7 @@ final class NettyHttpRequest implements HttpRequest {
                                     skipLast = true;
                                 }
                             } else {
-                                future.complete(new NettyHttpResponse(client.jsonMapper, response, limitedBufferingBodyHandler, undecidedBodyHandler, offloadExecutor));
+                                future.complete(new NettyHttpResponse(client.jsonMapper, response, limitedBufferingBodyHandler, undecidedBodyHandler, offloadExecutor, streamingExecutor()));
                                 ctx.pipeline().remove(this);
                             }
 
@@ -445,16 +464,60 @@ final class NettyHttpRequest implements HttpRequest {
         ph.channel().read();
     }
 
+    @Nullable
+    private Executor streamingExecutor() {
+        if (!client.streamingJsonResponse) {
+            return null;
+        }
+        // the offload executor is used for sync calls, where the calling thread may block anyway
+        return offloadExecutor == null ? client.blockingIoExecutor : offloadExecutor;
+    }
+
     private void sendBodyIfNecessary(Channel ch) {
         if (blockingBody != null) {
             ch.pipeline()
                     .addLast(new StreamWritingHandler(
                             blockingBody, client.blockingIoExecutor, new DefaultLastHttpContent()));
+        } else if (spilledBody != null) {
+            try {
+                sendSpilledBody(ch);
+            } catch (IOException e) {
+                ch.pipeline().fireExceptionCaught(e);
+            } finally {
+                // the written messages hold their own file handle or mapping
+                releaseSpilledBody();
+            }
         } else if (delayImmediateBody()) {
             ch.writeAndFlush(new DefaultLastHttpContent(immediateBody), ch.voidPromise());
         }
     }
 
+    private void sendSpilledBody(Channel ch) throws IOException {
+        if (ch.pipeline().get(SslHandler.class) == null) {
+            // plaintext, the file can go straight to the socket (sendfile)
+            ch.write(new DefaultFileRegion(spilledBody.openFile(), 0, spilledBody.length()), ch.voidPromise());
+            ch.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT, ch.voidPromise());
+            return;
+        }
+        ByteBuf mapped = spilledBody.content();
+        if (mapped != null) {
+            ch.writeAndFlush(new DefaultLastHttpContent(mapped), ch.voidPromise());
+            return;
+        }
+        // too large for a single buffer
+        ChunkedWriteHandler chunkedWriteHandler = new ChunkedWriteHandler();
+        ch.pipeline().addLast(HANDLER_CHUNKED_WRITE, chunkedWriteHandler);
+        ch.writeAndFlush(new HttpChunkedInput(new ChunkedNioFile(spilledBody.openFile())))
+            .addListener(f -> {
+                if (ch.pipeline().context(chunkedWriteHandler) != null) {
+                    ch.pipeline().remove(chunkedWriteHandler);
+                }
+                if (!f.isSuccess()) {
+                    ch.pipeline().fireExceptionCaught(f.cause());
+                }
+            });
+    }
+
     private <T> CompletableFuture<HttpResponse> runFilter(OciNettyClientFilter<T> filter, CompletableFuture<HttpResponse> responseFuture) {
         T beforeRequestResult = filter.beforeRequest(this);
         return responseFuture.handle((response, error) -> filter.afterResponse(this, response, error, beforeRequestResult));
@@ -16,6 +16,7 @@
 package io.micronaut.oraclecloud.httpclient.netty;
 
 import com.oracle.bmc.http.client.HttpResponse;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.type.Argument;
 import io.micronaut.json.JsonMapper;
 import io.netty.buffer.ByteBuf;
@@ -23,6 +24,7 @@ import io.netty.buffer.ByteBufInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
@@ -39,13 +41,21 @@ final class NettyHttpResponse implements HttpResponse {
     private final LimitedBufferingBodyHandler limitedBufferingBodyHandler;
     private final UndecidedBodyHandler undecidedBodyHandler;
     private final Executor offloadExecutor;
+    /**
+     * If present, JSON bodies are parsed from the body stream on this executor, without buffering
+     * the full body first.
+     */
+    @Nullable
+    private final Executor streamingExecutor;
+    private HeaderMap headerMap;
 
-    NettyHttpResponse(JsonMapper jsonMapper, io.netty.handler.codec.http.HttpResponse nettyResponse, LimitedBufferingBodyHandler limitedBufferingBodyHandler, UndecidedBodyHandler undecidedBodyHandler, Executor offloadExecutor) {
+    NettyHttpResponse(JsonMapper jsonMapper, io.netty.handler.codec.http.HttpResponse nettyResponse, LimitedBufferingBodyHandler limitedBufferingBodyHandler, UndecidedBodyHandler undecidedBodyHandler, Executor offloadExecutor, @Nullable Executor streamingExecutor) {
         this.jsonMapper = jsonMapper;
         this.nettyResponse = nettyResponse;
         this.limitedBufferingBodyHandler = limitedBufferingBodyHandler;
         this.undecidedBodyHandler = undecidedBodyHandler;
         this.offloadExecutor = offloadExecutor;
+        this.streamingExecutor = streamingExecutor;
     }
 
     @Override
@@ -55,7 +65,10 @@ final class NettyHttpResponse implements HttpResponse {
 
     @Override
     public Map<String, List<String>> headers() {
-        return new HeaderMap(nettyResponse.headers());
+        if (headerMap == null) {
+            headerMap = new HeaderMap(nettyResponse.headers());
+        }
+        return headerMap;
     }
 
     @Override
@@ -77,8 +90,37 @@ final class NettyHttpResponse implements HttpResponse {
         return buffer;
     }
 
+    /**
+     * Parse the body incrementally as it arrives, if streaming is enabled and the body has not
+     * been requested as another type before.
+     */
+    private boolean streamJson() {
+        return streamingExecutor != null && !undecidedBodyHandler.hasDecided();
+    }
+
+    private <T> CompletionStage<T> streamJson(Argument<T> type, boolean emptyAsNull) {
+        return undecidedBodyHandler.asInputStream().thenApplyAsync(stream -> {
+            try (PushbackInputStream in = new PushbackInputStream(stream)) {
+                if (emptyAsNull) {
+                    // see body(Class) for why we return null here
+                    int first = in.read();
+                    if (first == -1) {
+                        return null;
+                    }
+                    in.unread(first);
+                }
+                return jsonMapper.readValue(in, type);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, streamingExecutor);
+    }
+
     @Override
     public <T> CompletionStage<T> body(Class<T> type) {
+        if (streamJson()) {
+            return streamJson(Argument.of(type), true);
+        }
         return thenApply(bodyAsBuffer(), buf -> {
             try {
                 if (!buf.isReadable()) {
@@ -113,6 +155,9 @@ final class NettyHttpResponse implements HttpResponse {
     @Override
     public <T> CompletionStage<List<T>> listBody(Class<T> type) {
         Argument<List<T>> listArgument = Argument.listOf(type);
+        if (streamJson()) {
+            return streamJson(listArgument, false);
+        }
         return thenApply(bodyAsBuffer(), buf -> {
             try {
                 return jsonMapper.readValue(new ByteBufInputStream(buf), listArgument);
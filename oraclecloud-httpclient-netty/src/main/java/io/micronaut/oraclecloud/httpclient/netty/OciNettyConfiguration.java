@@ -18,12 +18,51 @@ package io.micronaut.oraclecloud.httpclient.netty;
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.core.annotation.Experimental;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.bind.annotation.Bindable;
+import io.micronaut.core.convert.format.ReadableBytes;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration properties specific to the managed client.
  *
  * @param legacyNettyClient Use the legacy implementation of the netty client.
+ * @param classAndMethodAttribution Populate the
+ *                                  {@link NettyClientProperties#CLASS_AND_METHOD_KEY_NAME} request
+ *                                  attribute, e.g. for metrics.
+ * @param streamingJsonResponse Deserialize JSON response bodies while they are received, instead
+ *                              of buffering them fully.
+ * @param requestBodyMemoryLimit Maximum size of a buffered streaming request body to keep in
+ *                               memory. Larger bodies are spilled to a temporary file.
+ * @param requestBodySpillDirectory Directory for the temporary files of large request bodies.
+ *                                  Defaults to {@code java.io.tmpdir}.
+ * @param http2 Negotiate HTTP/2 with ALPN, so that concurrent requests are multiplexed over few
+ *              connections.
+ * @param endpointServiceIds Micronaut HTTP client service IDs to use for specific OCI services,
+ *                           keyed by the first label of the endpoint host name (e.g.
+ *                           {@code objectstorage}). Each service ID has its own connection pool
+ *                           configured with {@code micronaut.http.services.<service-id>.pool.*}.
+ *                           Other endpoints use the {@value ManagedNettyHttpProvider#SERVICE_ID}
+ *                           service ID.
+ * @param warmupConnections Number of connections to open to the endpoint when a client is
+ *                          created, so that the first requests do not pay for the TLS handshake.
+ * @param virtualThreads Run blocking stream I/O on virtual threads, if the JVM supports them.
+ * @param virtualThreadPinningThreshold If set, log when a virtual thread used for blocking I/O is
+ *                                      pinned to its carrier thread for longer than this.
+ * @param coalesceGetRequests Let concurrent identical GET requests share a single exchange.
+ * @param responseCacheSize Maximum total body size of the GET responses with an {@code etag} to
+ *                          keep in memory for revalidation. {@code 0} disables the cache.
+ * @param responseCacheDirectory If set, responses evicted from memory move to files in this
+ *                               directory.
+ * @param responseCacheDiskSize Maximum total size of the response cache files.
+ * @param responseCacheOperations The operations ({@code class_and_method} values) that use the
+ *                                response cache. All GET requests by default.
+ * @param responseCachePersistentSecretOperations Operations returning secrets whose responses may
+ *                                                still move to the response cache directory.
  * @author Jonas Konrad
  * @since 4.3.0
  */
@@ -32,7 +71,93 @@ import io.micronaut.core.bind.annotation.Bindable;
 record OciNettyConfiguration(
     @Experimental
     @Bindable(defaultValue = "false")
-    boolean legacyNettyClient
+    boolean legacyNettyClient,
+    @Bindable(defaultValue = "" + OciNettyConfiguration.DEFAULT_CLASS_AND_METHOD_ATTRIBUTION)
+    boolean classAndMethodAttribution,
+    @Bindable(defaultValue = "false")
+    boolean streamingJsonResponse,
+    @Bindable(defaultValue = "" + OciNettyConfiguration.DEFAULT_REQUEST_BODY_MEMORY_LIMIT)
+    @ReadableBytes
+    int requestBodyMemoryLimit,
+    @Nullable
+    String requestBodySpillDirectory,
+    @Bindable(defaultValue = "false")
+    boolean http2,
+    @Nullable
+    Map<String, String> endpointServiceIds,
+    @Bindable(defaultValue = "" + OciNettyConfiguration.DEFAULT_WARMUP_CONNECTIONS)
+    int warmupConnections,
+    @Bindable(defaultValue = "false")
+    boolean virtualThreads,
+    @Nullable
+    Duration virtualThreadPinningThreshold,
+    @Bindable(defaultValue = "false")
+    boolean coalesceGetRequests,
+    @Bindable(defaultValue = "" + OciNettyConfiguration.DEFAULT_RESPONSE_CACHE_SIZE)
+    @ReadableBytes
+    long responseCacheSize,
+    @Nullable
+    String responseCacheDirectory,
+    @Bindable(defaultValue = "" + OciNettyConfiguration.DEFAULT_RESPONSE_CACHE_DISK_SIZE)
+    @ReadableBytes
+    long responseCacheDiskSize,
+    @Nullable
+    Set<String> responseCacheOperations,
+    @Nullable
+    Set<String> responseCachePersistentSecretOperations
 ) {
     static final String PREFIX = "oci.netty";
+
+    static final boolean DEFAULT_CLASS_AND_METHOD_ATTRIBUTION = true;
+    static final int DEFAULT_REQUEST_BODY_MEMORY_LIMIT = 1024 * 1024;
+    static final int DEFAULT_WARMUP_CONNECTIONS = 0;
+    static final long DEFAULT_RESPONSE_CACHE_SIZE = 0;
+    static final long DEFAULT_RESPONSE_CACHE_DISK_SIZE = 100 * 1024 * 1024;
+
+    /**
+     * Configuration used when there is no configuration bean, e.g. for OKE. Same as binding an
+     * empty configuration.
+     */
+    static final OciNettyConfiguration DEFAULT = new OciNettyConfiguration(
+        false, // legacyNettyClient
+        DEFAULT_CLASS_AND_METHOD_ATTRIBUTION,
+        false, // streamingJsonResponse
+        DEFAULT_REQUEST_BODY_MEMORY_LIMIT,
+        null, // requestBodySpillDirectory
+        false, // http2
+        null, // endpointServiceIds
+        DEFAULT_WARMUP_CONNECTIONS,
+        false, // virtualThreads
+        null, // virtualThreadPinningThreshold
+        false, // coalesceGetRequests
+        DEFAULT_RESPONSE_CACHE_SIZE,
+        null, // responseCacheDirectory
+        DEFAULT_RESPONSE_CACHE_DISK_SIZE,
+        null, // responseCacheOperations
+        null // responseCachePersistentSecretOperations
+    );
+
+    OciNettyConfiguration {
+        if (requestBodyMemoryLimit < 0) {
+            throw new IllegalArgumentException("request-body-memory-limit must not be negative");
+        }
+    }
+
+    /**
+     * Find the micronaut HTTP client service ID to use for the given endpoint.
+     *
+     * @param baseUri The endpoint
+     * @return The service ID
+     */
+    String serviceId(URI baseUri) {
+        String host = baseUri.getHost();
+        if (endpointServiceIds != null && host != null) {
+            int dot = host.indexOf('.');
+            String serviceId = endpointServiceIds.get(dot == -1 ? host : host.substring(0, dot));
+            if (serviceId != null) {
+                return serviceId;
+            }
+        }
+        return ManagedNettyHttpProvider.SERVICE_ID;
+    }
 }
@@ -0,0 +1,399 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Downloads a large body, e.g. an Object Storage object, as several byte ranges in parallel.
+ * Each range is a separate request, so the ranges are fetched over separate pooled connections.
+ * <p>
+ * Ranges are retried individually, resuming where the previous attempt stopped. At most
+ * {@code parallelism} ranges are fetched at the same time.
+ *
+ * @since 4.4.0
+ */
+public final class ParallelDownloader {
+    private final Executor executor;
+    private final int parallelism;
+    private final int partSize;
+    private final int maxAttemptsPerPart;
+
+    /**
+     * @param executor           The executor that runs the range downloads. The range bodies are
+     *                           read on this executor, so it should allow {@code parallelism}
+     *                           concurrent blocking tasks
+     * @param parallelism        The maximum number of ranges to download at the same time. This
+     *                           should not exceed the connection pool size of the client
+     * @param partSize           The size of each range
+     * @param maxAttemptsPerPart The maximum number of times each range is requested
+     */
+    public ParallelDownloader(@NonNull Executor executor, int parallelism, int partSize, int maxAttemptsPerPart) {
+        if (parallelism < 1 || partSize < 1 || maxAttemptsPerPart < 1) {
+            throw new IllegalArgumentException("parallelism, partSize and maxAttemptsPerPart must be at least 1");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.partSize = partSize;
+        this.maxAttemptsPerPart = maxAttemptsPerPart;
+    }
+
+    /**
+     * Download the body to the given file. Each range is written to its position in the file as
+     * it is received, so the memory use does not depend on the part size.
+     *
+     * @param target The target file. Existing content is overwritten
+     * @param size   The total size of the body, e.g. the {@code Content-Length} of a
+     *               {@code HeadObject} response
+     * @param opener Opens the body ranges
+     * @throws IOException If a range could not be downloaded
+     */
+    public void downloadToFile(@NonNull Path target, long size, @NonNull RangeOpener opener) throws IOException {
+        int parts = partCount(size);
+        AtomicInteger nextPart = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(parallelism, parts); i++) {
+                workers.add(CompletableFuture.runAsync(() -> {
+                    int part;
+                    while (!failed.get() && (part = nextPart.getAndIncrement()) < parts) {
+                        boolean done = false;
+                        try {
+                            long start = (long) part * partSize;
+                            fetchPart(opener, start, partEnd(start, size), new PositionalChannel(channel, start), failed::get);
+                            done = true;
+                        } catch (IOException e) {
+                            throw new PartFailedException(e);
+                        } finally {
+                            if (!done) {
+                                // stop the other workers, whatever the failure was
+                                failed.set(true);
+                            }
+                        }
+                    }
+                }, executor));
+            }
+            await(CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)));
+        }
+    }
+
+    /**
+     * Download the body as an ordered stream. Ranges are fetched ahead of the reader, and
+     * buffered in memory until the reader reaches them. At most {@code parallelism} ranges are
+     * buffered or in flight ahead of the range being read, so the memory use is bounded by
+     * {@code (parallelism + 1) * partSize}. Ranges are only requested as the reader makes
+     * progress.
+     *
+     * @param size   The total size of the body
+     * @param opener Opens the body ranges
+     * @return The body stream. Closing it stops requesting further ranges, and aborts the
+     * ranges in flight
+     */
+    @NonNull
+    public InputStream download(long size, @NonNull RangeOpener opener) {
+        return new OrderedStream(size, opener);
+    }
+
+    private int partCount(long size) {
+        long parts = (size + partSize - 1) / partSize;
+        if (parts > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Part size too small for a body of " + size + " bytes");
+        }
+        return (int) parts;
+    }
+
+    private long partEnd(long start, long size) {
+        return Math.min(start + partSize, size);
+    }
+
+    /**
+     * Write the range {@code [start, end)} to the given channel, retrying from the last received
+     * byte if the body fails. Stops with an exception, closing the range body, once
+     * {@code cancelled} returns {@code true}.
+     */
+    private void fetchPart(RangeOpener opener, long start, long end, WritableByteChannel out, BooleanSupplier cancelled) throws IOException {
+        CountingChannel counting = new CountingChannel(out, cancelled);
+        for (int attempt = 1; ; attempt++) {
+            counting.checkCancelled();
+            long position = start + counting.written;
+            try (InputStream body = opener.open(position, end - 1)) {
+                if (body instanceof ByteBufQueueInputStream queueStream) {
+                    queueStream.transferTo(counting);
+                } else {
+                    byte[] buffer = new byte[8192];
+                    int n;
+                    while ((n = body.read(buffer)) != -1) {
+                        ByteBuffer src = ByteBuffer.wrap(buffer, 0, n);
+                        while (src.hasRemaining()) {
+                            counting.write(src);
+                        }
+                    }
+                }
+                if (counting.written != end - start) {
+                    throw new EOFException("Range " + start + "-" + (end - 1) + " ended after " + counting.written + " bytes");
+                }
+                return;
+            } catch (IOException e) {
+                if (attempt >= maxAttemptsPerPart || cancelled.getAsBoolean()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PartFailedException pfe) {
+                throw pfe.getCause();
+            }
+            throw new IOException("Range download failed", e.getCause());
+        }
+    }
+
+    /**
+     * Opens a range of the body, e.g. by sending a {@code GetObject} request with a
+     * {@code Range}.
+     */
+    @FunctionalInterface
+    public interface RangeOpener {
+        /**
+         * Open the given byte range of the body.
+         *
+         * @param start The first byte of the range
+         * @param end   The last byte of the range, inclusive
+         * @return The body of the range
+         * @throws IOException If the range could not be opened
+         */
+        @NonNull
+        InputStream open(long start, long end) throws IOException;
+    }
+
+    /**
+     * Channel that writes to consecutive positions of a shared file, independent of the
+     * position of the file channel itself.
+     */
+    private static final class PositionalChannel implements WritableByteChannel {
+        private final FileChannel file;
+        private long position;
+
+        PositionalChannel(FileChannel file, long position) {
+            this.file = file;
+            this.position = position;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int n = file.write(src, position);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return file.isOpen();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Counts the bytes written for a range, so that a retry can resume after them. Fails the
+     * write once the download is cancelled, which stops the transfer between two reads.
+     */
+    private static final class CountingChannel implements WritableByteChannel {
+        private final WritableByteChannel delegate;
+        private final BooleanSupplier cancelled;
+        private long written;
+
+        CountingChannel(WritableByteChannel delegate, BooleanSupplier cancelled) {
+            this.delegate = delegate;
+            this.cancelled = cancelled;
+        }
+
+        void checkCancelled() throws IOException {
+            if (cancelled.getAsBoolean()) {
+                throw new IOException("Download cancelled");
+            }
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            checkCancelled();
+            int n = delegate.write(src);
+            written += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private final class OrderedStream extends InputStream {
+        private final long size;
+        private final RangeOpener opener;
+        private final int parts;
+        private final List<CompletableFuture<byte[]>> pending = new ArrayList<>();
+        private int nextScheduled;
+        private InputStream current = InputStream.nullInputStream();
+        private volatile boolean closed;
+
+        OrderedStream(long size, RangeOpener opener) {
+            this.size = size;
+            this.opener = opener;
+            this.parts = partCount(size);
+            while (nextScheduled < Math.min(parallelism, parts)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            long start = (long) nextScheduled++ * partSize;
+            long end = partEnd(start, size);
+            pending.add(CompletableFuture.supplyAsync(() -> {
+                if (closed) {
+                    return new byte[0];
+                }
+                ByteBufferChannel out = new ByteBufferChannel((int) (end - start));
+                try {
+                    fetchPart(opener, start, end, out, () -> closed);
+                } catch (IOException e) {
+                    throw new PartFailedException(e);
+                }
+                return out.buffer.array();
+            }, executor));
+        }
+
+        /**
+         * @return {@code false} at the end of the body
+         */
+        private boolean advance() throws IOException {
+            if (current.available() > 0) {
+                return true;
+            }
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (pending.isEmpty()) {
+                return false;
+            }
+            byte[] part;
+            try {
+                part = await(pending.remove(0));
+            } catch (IOException e) {
+                // abort the remaining ranges
+                close();
+                throw e;
+            }
+            if (nextScheduled < parts) {
+                schedule();
+            }
+            current = new ByteArrayInputStream(part);
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return advance() ? current.read() : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            return advance() ? current.read(b, off, len) : -1;
+        }
+
+        @Override
+        public int available() {
+            return closed ? 0 : current.available();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            // ranges in flight see the flag at their next read and close their body
+            for (CompletableFuture<byte[]> future : pending) {
+                future.cancel(false);
+            }
+            pending.clear();
+            current = InputStream.nullInputStream();
+        }
+    }
+
+    /**
+     * Channel that collects a part in a heap buffer of the exact part size.
+     */
+    private static final class ByteBufferChannel implements WritableByteChannel {
+        final ByteBuffer buffer;
+
+        ByteBufferChannel(int capacity) {
+            buffer = ByteBuffer.allocate(capacity);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (src.remaining() > buffer.remaining()) {
+                throw new IOException("Range body is longer than requested");
+            }
+            int n = src.remaining();
+            buffer.put(src);
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.NonNull;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Uploads a body as a multipart upload, e.g. to Object Storage, with several parts in flight at
+ * the same time.
+ * <p>
+ * The source is read into fixed-size parts on the calling thread, and the MD5 digest of each
+ * part is computed while it is read. Parts are assembled from pooled chunks of 64 KiB, so large
+ * part sizes do not need large contiguous allocations. Reading pauses while {@code parallelism}
+ * parts are being uploaded, so the memory use is bounded by {@code parallelism * partSize}
+ * regardless of the body size.
+ *
+ * @since 4.4.0
+ */
+public final class ParallelUploader {
+    private static final int READ_CHUNK = 64 * 1024;
+
+    private final Executor executor;
+    private final int parallelism;
+    private final int partSize;
+    private final int maxAttemptsPerPart;
+    private final ByteBufAllocator alloc = PooledByteBufAllocator.DEFAULT;
+
+    /**
+     * @param executor           The executor that runs the part uploads. Part bodies are
+     *                           streamed on this executor, so it should allow
+     *                           {@code parallelism} concurrent blocking tasks
+     * @param parallelism        The maximum number of parts to upload at the same time. This
+     *                           should not exceed the connection pool size of the client
+     * @param partSize           The size of each part, except the last one
+     * @param maxAttemptsPerPart The maximum number of times each part is uploaded
+     */
+    public ParallelUploader(@NonNull Executor executor, int parallelism, int partSize, int maxAttemptsPerPart) {
+        if (parallelism < 1 || partSize < 1 || maxAttemptsPerPart < 1) {
+            throw new IllegalArgumentException("parallelism, partSize and maxAttemptsPerPart must be at least 1");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.partSize = partSize;
+        this.maxAttemptsPerPart = maxAttemptsPerPart;
+    }
+
+    /**
+     * Upload the given file.
+     *
+     * @param source The file to upload
+     * @param target The multipart upload
+     * @param <P>    The part type
+     * @param <R>    The commit result type
+     * @return The result of {@link MultipartTarget#commit}
+     * @throws IOException If the file could not be read, or a part could not be uploaded
+     */
+    public <P, R> R upload(@NonNull Path source, @NonNull MultipartTarget<P, R> target) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            return upload(in, target);
+        }
+    }
+
+    /**
+     * Upload the remaining content of the given stream. The stream is not closed.
+     *
+     * @param source The stream to upload
+     * @param target The multipart upload
+     * @param <P>    The part type
+     * @param <R>    The commit result type
+     * @return The result of {@link MultipartTarget#commit}
+     * @throws IOException If the stream could not be read, or a part could not be uploaded
+     */
+    public <P, R> R upload(@NonNull InputStream source, @NonNull MultipartTarget<P, R> target) throws IOException {
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<P>> parts = new ArrayList<>();
+        try {
+            boolean eof = false;
+            for (int partNumber = 1; !eof && !failed.get(); partNumber++) {
+                permits.acquire();
+                CompositeByteBuf buf = alloc.compositeHeapBuffer((partSize - 1) / READ_CHUNK + 1);
+                String md5;
+                try {
+                    md5 = fill(buf, source);
+                } catch (IOException | RuntimeException e) {
+                    buf.release();
+                    permits.release();
+                    throw e;
+                }
+                eof = buf.readableBytes() < partSize;
+                if (!buf.isReadable() && partNumber > 1) {
+                    // the previous part ended exactly at the end of the stream
+                    buf.release();
+                    permits.release();
+                    break;
+                }
+                int n = partNumber;
+                parts.add(CompletableFuture.supplyAsync(() -> uploadPart(target, n, buf, md5), executor)
+                    .whenComplete((p, e) -> {
+                        buf.release();
+                        permits.release();
+                        if (e != null) {
+                            failed.set(true);
+                        }
+                    }));
+            }
+            List<P> results = new ArrayList<>(parts.size());
+            for (CompletableFuture<P> part : parts) {
+                results.add(await(part));
+            }
+            return target.commit(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(target, parts);
+            throw new InterruptedIOException();
+        } catch (IOException | RuntimeException e) {
+            abort(target, parts);
+            throw e;
+        }
+    }
+
+    /**
+     * Read from the source until the part is full or the source ends, updating the digest with
+     * each chunk as it is read.
+     *
+     * @return The base64-encoded MD5 of the part
+     */
+    private String fill(CompositeByteBuf part, InputStream source) throws IOException {
+        MessageDigest md5;
+        try {
+            md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        boolean eof = false;
+        while (!eof && part.readableBytes() < partSize) {
+            ByteBuf chunk = alloc.heapBuffer(Math.min(READ_CHUNK, partSize - part.readableBytes()));
+            try {
+                while (chunk.isWritable()) {
+                    if (chunk.writeBytes(source, chunk.writableBytes()) == -1) {
+                        eof = true;
+                        break;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                chunk.release();
+                throw e;
+            }
+            if (chunk.isReadable()) {
+                md5.update(chunk.nioBuffer());
+                part.addComponent(true, chunk);
+            } else {
+                chunk.release();
+            }
+        }
+        return Base64.getEncoder().encodeToString(md5.digest());
+    }
+
+    private <P> P uploadPart(MultipartTarget<P, ?> target, int partNumber, ByteBuf buf, String md5) {
+        for (int attempt = 1; ; attempt++) {
+            // each attempt reads the part from the start
+            try (InputStream body = new ByteBufInputStream(buf.duplicate())) {
+                return target.uploadPart(partNumber, body, buf.readableBytes(), md5);
+            } catch (IOException e) {
+                if (attempt >= maxAttemptsPerPart) {
+                    throw new PartFailedException(e);
+                }
+            }
+        }
+    }
+
+    private static <P> P await(CompletableFuture<P> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PartFailedException pfe) {
+                throw pfe.getCause();
+            } else if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("Part upload failed", e.getCause());
+        }
+    }
+
+    private static void abort(MultipartTarget<?, ?> target, List<? extends CompletableFuture<?>> parts) {
+        // wait for the running uploads, so that their buffers are released and no part is
+        // uploaded after the abort
+        for (CompletableFuture<?> part : parts) {
+            try {
+                part.join();
+            } catch (RuntimeException ignored) {
+            }
+        }
+        try {
+            target.abort();
+        } catch (IOException | RuntimeException ignored) {
+            // the original failure is more relevant
+        }
+    }
+
+    /**
+     * A multipart upload, e.g. an Object Storage upload created with
+     * {@code CreateMultipartUpload}.
+     *
+     * @param <P> The part type, e.g. the part number and ETag of the {@code UploadPart} response
+     * @param <R> The commit result type
+     */
+    public interface MultipartTarget<P, R> {
+        /**
+         * Upload one part. This is called concurrently for different parts, and again for the
+         * same part if a previous attempt failed with an {@link IOException}.
+         *
+         * @param partNumber The part number, starting at 1
+         * @param body       The part body
+         * @param length     The length of the part body
+         * @param contentMd5 The base64-encoded MD5 digest of the part body
+         * @return The part information needed for {@link #commit}
+         * @throws IOException If the upload failed
+         */
+        @NonNull
+        P uploadPart(int partNumber, @NonNull InputStream body, long length, @NonNull String contentMd5) throws IOException;
+
+        /**
+         * Commit the upload once all parts have been uploaded.
+         *
+         * @param parts The results of {@link #uploadPart}, ordered by part number
+         * @return The commit result
+         * @throws IOException If the commit failed
+         */
+        R commit(@NonNull List<P> parts) throws IOException;
+
+        /**
+         * Abort the upload after a part could not be uploaded.
+         *
+         * @throws IOException If the abort failed
+         */
+        default void abort() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.body.CloseableByteBody;
+import io.micronaut.http.body.stream.InputStreamByteBody;
+import io.micronaut.http.netty.body.AvailableNettyByteBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.buffer.UnpooledDirectByteBuf;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Request body read from an {@link InputStream} that can be sent multiple times, e.g. for retries
+ * of the SDK. The stream is read once, on first use. Up to a memory limit, the body is kept in a
+ * {@link ByteBuf} and every replay is a retained duplicate of that buffer. Larger bodies are
+ * spilled to a temporary file. Replays of the file share a single memory mapping of it where
+ * possible, so that the file contents are not copied through the heap, or can use the file
+ * directly (e.g. with a {@link io.netty.channel.FileRegion}). The mapping is unmapped as soon as
+ * the body and all replays using it are released, so the deleted file does not keep occupying
+ * disk space until the next GC.
+ * <p>
+ * Instances are shared between a request and its copies, each of which hold a reference. The
+ * buffer is released, or the file deleted, when the last reference is released.
+ *
+ * @since 4.4.0
+ */
+@Internal
+final class ReplayableBody extends AbstractReferenceCounted {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final InputStream source;
+    private final long contentLength;
+    private final int memoryLimit;
+    private final ByteBufAllocator alloc;
+    @Nullable
+    private final Path spillDirectory;
+    private final AtomicBoolean filling = new AtomicBoolean();
+    private final CompletableFuture<Void> filled = new CompletableFuture<>();
+
+    @Nullable
+    private ByteBuf buffer;
+    @Nullable
+    private Path file;
+    private long fileLength;
+    @Nullable
+    private ByteBuf mapped;
+
+    /**
+     * @param source        The body stream. It is consumed and closed on first use
+     * @param contentLength The content length, or {@code -1} if unknown
+     * @param memoryLimit   Maximum number of bytes to buffer in memory before spilling to disk
+     * @param alloc          Allocator for the in-memory buffer
+     * @param spillDirectory Directory for the temporary file, or {@code null} for the default
+     *                       temporary directory
+     */
+    ReplayableBody(InputStream source, long contentLength, int memoryLimit, ByteBufAllocator alloc, @Nullable Path spillDirectory) {
+        this.source = source;
+        this.contentLength = contentLength;
+        this.memoryLimit = memoryLimit;
+        this.alloc = alloc;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Read the source stream, if that has not happened yet.
+     *
+     * @param blockingIoExecutor Executor for blocking reads of the source
+     * @return Future that completes when the body is available
+     */
+    CompletionStage<Void> fill(Executor blockingIoExecutor) {
+        if (filling.compareAndSet(false, true)) {
+            blockingIoExecutor.execute(() -> {
+                try {
+                    fill();
+                    filled.complete(null);
+                } catch (Throwable t) {
+                    filled.completeExceptionally(t);
+                }
+            });
+        }
+        return filled;
+    }
+
+    /**
+     * Only valid after {@link #fill(Executor)} has completed.
+     *
+     * @return The body length
+     */
+    long length() {
+        return buffer != null ? buffer.readableBytes() : fileLength;
+    }
+
+    /**
+     * Only valid after {@link #fill(Executor)} has completed.
+     *
+     * @return Whether the body was spilled to a file
+     */
+    boolean spilled() {
+        return file != null;
+    }
+
+    /**
+     * Get the body as a single buffer. Only valid after {@link #fill(Executor)} has completed.
+     *
+     * @return A new buffer with the body, or {@code null} if the body is too large for one buffer
+     */
+    @Nullable
+    ByteBuf content() {
+        if (buffer != null) {
+            return buffer.retainedDuplicate();
+        }
+        if (fileLength > Integer.MAX_VALUE) {
+            return null;
+        }
+        synchronized (this) {
+            if (mapped == null) {
+                // the mapping stays valid after the channel is closed and the file is deleted.
+                // PRIVATE instead of READ_ONLY because netty only wraps writable buffers in a
+                // ByteBuf we can free, writes would not reach the file anyway.
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    MappedByteBuffer map = channel.map(FileChannel.MapMode.PRIVATE, 0, fileLength);
+                    mapped = new MappedFileBuf(map);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read buffered request body", e);
+                }
+            }
+            return mapped.retainedDuplicate();
+        }
+    }
+
+    /**
+     * Open the spill file for reading. Only valid if the body was {@link #spilled()}. The
+     * returned channel stays readable after this body is released.
+     *
+     * @return The file channel, to be closed by the caller
+     * @throws IOException If the file cannot be opened
+     */
+    FileChannel openFile() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    /**
+     * Create a new body for sending. On the first call, this reads the source stream on the given
+     * executor.
+     *
+     * @param blockingIoExecutor Executor for blocking reads of the source and of the spill file
+     * @return A fresh body with a known length
+     */
+    CompletionStage<CloseableByteBody> newBody(Executor blockingIoExecutor) {
+        return fill(blockingIoExecutor).thenApply(v -> replay(blockingIoExecutor));
+    }
+
+    private CloseableByteBody replay(Executor blockingIoExecutor) {
+        ByteBuf content = content();
+        if (content != null) {
+            return new AvailableNettyByteBody(content);
+        }
+        InputStream stream;
+        try {
+            stream = new ReleasingInputStream(Files.newInputStream(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read buffered request body", e);
+        }
+        return InputStreamByteBody.create(stream, OptionalLong.of(fileLength), blockingIoExecutor, NettyByteBufferFactory.DEFAULT);
+    }
+
+    private void fill() throws IOException {
+        try (InputStream in = source) {
+            ByteBuf buf = contentLength >= 0 && contentLength <= memoryLimit ?
+                alloc.buffer((int) contentLength) :
+                alloc.buffer(Math.min(CHUNK_SIZE, memoryLimit));
+            try {
+                while (buf.readableBytes() < memoryLimit) {
+                    int n = buf.writeBytes(in, Math.min(CHUNK_SIZE, memoryLimit - buf.readableBytes()));
+                    if (n == -1) {
+                        buffer = buf;
+                        return;
+                    }
+                }
+                int next = in.read();
+                if (next == -1) {
+                    buffer = buf;
+                    return;
+                }
+                spill(buf, next, in);
+            } finally {
+                if (buffer != buf) {
+                    buf.release();
+                }
+            }
+        }
+    }
+
+    private void spill(ByteBuf head, int next, InputStream in) throws IOException {
+        Path path = spillDirectory == null ?
+            Files.createTempFile("oci-request-body", ".tmp") :
+            Files.createTempFile(spillDirectory, "oci-request-body", ".tmp");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            int headLength = head.readableBytes();
+            head.readBytes(out, headLength);
+            out.write(next);
+            fileLength = headLength + 1 + in.transferTo(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        file = path;
+    }
+
+    @Override
+    protected void deallocate() {
+        if (!filling.getAndSet(true)) {
+            // never sent, the stream is still ours to close
+            try {
+                source.close();
+            } catch (IOException ignored) {
+            }
+            return;
+        }
+        filled.whenComplete((v, t) -> {
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
+            synchronized (this) {
+                if (mapped != null) {
+                    // replays in flight keep the mapping alive until they are released, the
+                    // last release unmaps it
+                    mapped.release();
+                    mapped = null;
+                }
+            }
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    file.toFile().deleteOnExit();
+                }
+                file = null;
+            }
+        });
+    }
+
+    @Override
+    public ReplayableBody retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public ReplayableBody touch(Object hint) {
+        return this;
+    }
+
+    /**
+     * Buffer over the mapping of the spill file that unmaps it on deallocation. Netty does not
+     * free wrapped buffers, which would leave the mapping, and with it the deleted file, around
+     * until the buffer is garbage collected.
+     */
+    private static final class MappedFileBuf extends UnpooledDirectByteBuf {
+        private final MappedByteBuffer map;
+
+        MappedFileBuf(MappedByteBuffer map) {
+            super(UnpooledByteBufAllocator.DEFAULT, map, map.capacity());
+            this.map = map;
+        }
+
+        @Override
+        protected void deallocate() {
+            super.deallocate();
+            PlatformDependent.freeDirectBuffer(map);
+        }
+    }
+
+    /**
+     * Stream of the spill file. Keeps the body alive until it is closed, so the file is not
+     * deleted while it is being sent.
+     */
+    private final class ReleasingInputStream extends FilterInputStream {
+        private boolean closed;
+
+        ReleasingInputStream(InputStream in) {
+            super(in);
+            retain();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.ByteBodyHttpResponse;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.body.ByteBody;
+import io.micronaut.http.body.CloseableByteBody;
+import io.micronaut.http.netty.body.AvailableNettyByteBody;
+import io.netty.buffer.ByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical GET requests. While an exchange for a key is in flight,
+ * further requests with the same key do not start their own exchange, but wait for the first
+ * one. If the response has a {@code content-length} of at most {@link #maxSharedBodySize}, the
+ * body is buffered once, and each participant receives its own view of the buffer. Larger
+ * responses, and responses of unknown length, would make the participants wait for each other,
+ * or buffer without bound. The first participant then receives the streamed body, and the others
+ * start their own exchanges.
+ *
+ * @since 4.4.0
+ */
+@Internal
+final class RequestCoalescer {
+    /**
+     * Request headers that are part of the key, in addition to the URI, because they change the
+     * response. Per-request headers such as {@code opc-request-id} or the signature are not part
+     * of the key.
+     */
+    static final List<String> KEY_HEADERS = List.of(
+        HttpHeaders.ACCEPT,
+        HttpHeaders.RANGE,
+        HttpHeaders.IF_MATCH,
+        HttpHeaders.IF_NONE_MATCH,
+        "opc-sse-customer-algorithm",
+        "opc-sse-customer-key",
+        "opc-sse-customer-key-sha256",
+        // requests on behalf of different principals
+        "opc-obo-token"
+    );
+
+    /**
+     * Default of {@link #maxSharedBodySize}.
+     */
+    static final long DEFAULT_MAX_SHARED_BODY_SIZE = 1024 * 1024;
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    /**
+     * Maximum {@code content-length} of a response to buffer and share.
+     */
+    private final long maxSharedBodySize;
+
+    RequestCoalescer() {
+        this(DEFAULT_MAX_SHARED_BODY_SIZE);
+    }
+
+    RequestCoalescer(long maxSharedBodySize) {
+        this.maxSharedBodySize = maxSharedBodySize;
+    }
+
+    /**
+     * Build the coalescing key of a request.
+     *
+     * @param uri     The full request URI
+     * @param headers The request headers
+     * @return The key
+     */
+    static String key(String uri, io.micronaut.http.HttpHeaders headers) {
+        StringBuilder key = new StringBuilder(uri);
+        for (String name : KEY_HEADERS) {
+            String value = headers.get(name);
+            if (value != null) {
+                key.append('\n').append(name).append(':').append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Join the exchange in flight for the given key, or start a new one.
+     *
+     * @param key      The request key
+     * @param exchange Starts a new exchange
+     * @return The response, with a body that belongs to the caller
+     */
+    CompletableFuture<Shared> execute(String key, Supplier<CompletableFuture<? extends io.micronaut.http.HttpResponse<?>>> exchange) {
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight != null) {
+                CompletableFuture<Shared> joined = flight.join(exchange);
+                if (joined != null) {
+                    return joined;
+                }
+                // completed concurrently, it is removed from the map right after
+                flights.remove(key, flight);
+                continue;
+            }
+            Flight created = new Flight(key);
+            CompletableFuture<Shared> own = created.join(exchange);
+            if (flights.putIfAbsent(key, created) == null) {
+                CompletableFuture<? extends io.micronaut.http.HttpResponse<?>> future;
+                try {
+                    future = exchange.get();
+                } catch (Throwable t) {
+                    // don't leave the flight behind for the next requests to wait on
+                    created.complete(null, t);
+                    return own;
+                }
+                future.whenComplete(created::complete);
+                return own;
+            }
+        }
+    }
+
+    /**
+     * Response of a coalesced exchange.
+     *
+     * @param response The response, shared by all participants. Must not be closed
+     * @param body     The body of this participant, must be closed
+     */
+    record Shared(io.micronaut.http.HttpResponse<?> response, CloseableByteBody body) {
+    }
+
+    /**
+     * Give the body of a response to a single participant.
+     *
+     * @return The response with the body, to complete the participant with
+     */
+    private static Shared own(ByteBodyHttpResponse<?> response) {
+        try {
+            // the only split streams at the pace of its reader
+            return new Shared(response, response.byteBody().split(ByteBody.SplitBackpressureMode.FASTEST));
+        } finally {
+            // the split keeps the body alive
+            response.close();
+        }
+    }
+
+    /**
+     * Complete a participant, closing its body if it was cancelled in the meantime.
+     */
+    private static void complete(CompletableFuture<Shared> participant, Shared shared) {
+        if (!participant.complete(shared)) {
+            shared.body().close();
+        }
+    }
+
+    private record Participant(CompletableFuture<Shared> future, Supplier<CompletableFuture<? extends io.micronaut.http.HttpResponse<?>>> exchange) {
+        /**
+         * Run the exchange of this participant on its own, for a response that can't be shared.
+         */
+        void executeAlone() {
+            if (future.isDone()) {
+                // cancelled
+                return;
+            }
+            CompletableFuture<? extends io.micronaut.http.HttpResponse<?>> own;
+            try {
+                own = exchange.get();
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                return;
+            }
+            // the exchange is not shared, so cancelling the participant cancels it
+            future.whenComplete((r, t) -> {
+                if (future.isCancelled()) {
+                    own.cancel(true);
+                }
+            });
+            own.whenComplete((response, failure) -> {
+                if (failure != null) {
+                    future.completeExceptionally(failure);
+                } else if (response instanceof ByteBodyHttpResponse<?> bbhr) {
+                    complete(future, own(bbhr));
+                } else {
+                    future.completeExceptionally(replacedResponse());
+                }
+            });
+        }
+    }
+
+    private static UnsupportedOperationException replacedResponse() {
+        return new UnsupportedOperationException("A micronaut client filter replaced the HTTP response. This is not supported for the micronaut-oracle-cloud HTTP client.");
+    }
+
+    private final class Flight {
+        private final String key;
+        private final List<Participant> participants = new ArrayList<>();
+        private boolean completed;
+
+        Flight(String key) {
+            this.key = key;
+        }
+
+        synchronized CompletableFuture<Shared> join(Supplier<CompletableFuture<? extends io.micronaut.http.HttpResponse<?>>> exchange) {
+            if (completed) {
+                return null;
+            }
+            CompletableFuture<Shared> future = new CompletableFuture<>();
+            participants.add(new Participant(future, exchange));
+            return future;
+        }
+
+        void complete(io.micronaut.http.HttpResponse<?> response, Throwable failure) {
+            flights.remove(key, this);
+            synchronized (this) {
+                completed = true;
+            }
+            if (failure != null) {
+                for (Participant participant : participants) {
+                    participant.future().completeExceptionally(failure);
+                }
+                return;
+            }
+            if (!(response instanceof ByteBodyHttpResponse<?> bbhr)) {
+                UnsupportedOperationException e = replacedResponse();
+                for (Participant participant : participants) {
+                    participant.future().completeExceptionally(e);
+                }
+                return;
+            }
+            OptionalLong length = bbhr.byteBody().expectedLength();
+            if (participants.size() == 1 || length.isEmpty() || length.getAsLong() > maxSharedBodySize) {
+                // the first participant started the exchange, the body is its own
+                RequestCoalescer.complete(participants.get(0).future(), own(bbhr));
+                for (int i = 1; i < participants.size(); i++) {
+                    participants.get(i).executeAlone();
+                }
+                return;
+            }
+            bbhr.byteBody().buffer().whenComplete((available, e) -> {
+                bbhr.close();
+                if (e != null) {
+                    for (Participant participant : participants) {
+                        participant.future().completeExceptionally(e);
+                    }
+                    return;
+                }
+                ByteBuf buf = AvailableNettyByteBody.toByteBuf(available);
+                try {
+                    for (Participant participant : participants) {
+                        RequestCoalescer.complete(participant.future(), new Shared(response, new AvailableNettyByteBody(buf.retainedDuplicate())));
+                    }
+                } finally {
+                    buf.release();
+                }
+            });
+        }
+    }
+}
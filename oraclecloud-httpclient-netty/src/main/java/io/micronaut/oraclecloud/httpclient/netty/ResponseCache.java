@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache of GET responses that carry an {@code etag}. The netty client revalidates a cached
+ * response with {@code if-none-match}, and serves the cached body when the endpoint answers
+ * {@code 304 Not Modified}. Cached responses are never used without revalidation.
+ * <p>
+ * Implementations must be thread-safe. {@link #get(String)} and {@link #put(String, Entry)} may
+ * block, the client only calls them on its blocking I/O executor.
+ *
+ * @see NettyClientProperties#RESPONSE_CACHE
+ * @see DefaultResponseCache
+ * @since 4.4.0
+ */
+public interface ResponseCache {
+    /**
+     * Look up a cached response.
+     *
+     * @param key The request key, derived from the URI and the headers that change the response
+     * @return The cached response, or {@code null}
+     */
+    @Nullable
+    Entry get(@NonNull String key);
+
+    /**
+     * Look up a cached response without blocking the calling thread, which may be an event loop.
+     * By default, this runs {@link #get(String)} on the given executor. Implementations that can
+     * answer some lookups from memory should override this.
+     *
+     * @param key                The request key
+     * @param blockingIoExecutor Executor for blocking operations such as file reads
+     * @return The cached response, or {@code null}
+     */
+    @NonNull
+    default CompletionStage<Entry> get(@NonNull String key, @NonNull Executor blockingIoExecutor) {
+        return CompletableFuture.supplyAsync(() -> get(key), blockingIoExecutor);
+    }
+
+    /**
+     * Store a response.
+     *
+     * @param key   The request key
+     * @param entry The response
+     */
+    void put(@NonNull String key, @NonNull Entry entry);
+
+    /**
+     * @return The maximum body size of a response to store. Larger responses, and responses
+     * without a {@code content-length}, are not buffered for the cache
+     */
+    default long maxEntrySize() {
+        return 1024 * 1024;
+    }
+
+    /**
+     * A cached {@code 200 OK} response.
+     *
+     * @param etag       The entity tag of the response
+     * @param headers    The response headers
+     * @param body       The response body
+     * @param persistent Whether the response may be written to persistent storage. This is
+     *                   {@code false} for responses that may contain secrets
+     */
+    record Entry(@NonNull String etag, @NonNull Map<String, List<String>> headers, @NonNull byte[] body, boolean persistent) {
+        /**
+         * Create a response that may be written to persistent storage.
+         *
+         * @param etag    The entity tag of the response
+         * @param headers The response headers
+         * @param body    The response body
+         */
+        public Entry(@NonNull String etag, @NonNull Map<String, List<String>> headers, @NonNull byte[] body) {
+            this(etag, headers, body, true);
+        }
+    }
+}
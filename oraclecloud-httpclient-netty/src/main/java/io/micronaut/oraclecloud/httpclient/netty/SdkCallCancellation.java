@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cancellation of the HTTP requests of a single SDK call. The futures returned by the SDK async
+ * clients depend on the future of the HTTP request, so cancelling them does not reach the
+ * request. The generated reactive clients instead {@link #run(Supplier) run} the SDK call with a
+ * cancellation in scope. Requests created during the call, and their copies for retries,
+ * register their response future, and {@link #cancel()} cancels them directly, which aborts the
+ * exchange and frees the connection.
+ *
+ * @since 4.4.0
+ */
+@Internal
+public final class SdkCallCancellation {
+    private static final ThreadLocal<SdkCallCancellation> CURRENT = new ThreadLocal<>();
+
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    /**
+     * Run an SDK call with this cancellation in scope.
+     *
+     * @param call The SDK call
+     * @param <T>  The result type
+     * @return The result of the call
+     */
+    public <T> T run(Supplier<T> call) {
+        SdkCallCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Cancel the requests of the call that are in flight, and any that are registered later.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (CompletableFuture<?> future : inFlight) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * @return The cancellation of the SDK call running on this thread, if any
+     */
+    @Nullable
+    static SdkCallCancellation current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Register the response future of a request.
+     *
+     * @param future The future to cancel with the call
+     */
+    void register(CompletableFuture<?> future) {
+        inFlight.add(future);
+        future.whenComplete((r, e) -> inFlight.remove(future));
+        // cancel() may have missed the future if it ran concurrently
+        if (cancelled) {
+            future.cancel(true);
+        }
+    }
+}
@@ -16,126 +16,61 @@
 package io.micronaut.oraclecloud.httpclient.netty;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.CompositeByteBuf;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InterruptedIOException;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Channel handler that exposes inbound data as an {@link InputStream}.
  */
 @Deprecated
 class StreamReadingHandler extends DecidedBodyHandler {
-    private final Object monitor = new Object();
-    private CompositeByteBuf buffer;
-    private boolean done = false;
-    private Throwable failure;
+    private final Stream stream = new Stream();
 
-    StreamReadingHandler(ByteBufAllocator alloc) {
-        synchronized (monitor) {
-            buffer = alloc.compositeBuffer();
+    public InputStream getInputStream() throws Throwable {
+        Throwable f = stream.closedFailure();
+        if (f != null) {
+            throw f;
         }
+        return stream;
     }
 
-    public InputStream getInputStream() throws Throwable {
-        synchronized (monitor) {
-            if (buffer == null) {
-                if (failure != null) {
-                    throw failure;
-                }
-                throw new IllegalStateException("Must be added to pipeline first");
-            }
-            return new Stream();
-        }
+    /**
+     * Write the remaining body to the given channel, see {@link ByteBufQueueInputStream#transferTo(WritableByteChannel)}.
+     *
+     * @param out The target channel
+     * @return The number of bytes transferred
+     * @throws IOException If reading or writing fails
+     */
+    long transferTo(WritableByteChannel out) throws IOException {
+        return stream.transferTo(out);
     }
 
     @Override
     void onData(ByteBuf data) {
-        synchronized (monitor) {
-            buffer.addComponent(true, data);
-            monitor.notifyAll();
-        }
+        stream.offer(data);
     }
 
     @Override
     void onComplete() {
-        synchronized (monitor) {
-            done = true;
-            monitor.notifyAll();
-        }
+        stream.complete();
     }
 
     @Override
     boolean onError(Throwable cause) {
-        synchronized (monitor) {
-            if (buffer != null) {
-                // the stream hasn't finished yet, it can handle the failure.
-                failure = cause;
-                buffer.release();
-                buffer = null;
-                monitor.notifyAll();
-                return true;
-            } else {
-                return false;
-            }
-        }
+        return stream.fail(cause);
     }
 
-    private class Stream extends InputStream {
-        @Override
-        public int read() throws IOException {
-            byte[] bytes = new byte[1];
-            int n = read(bytes, 0, 1);
-            if (n == -1) {
-                return -1;
-            }
-            assert n == 1;
-            return bytes[0] & 0xff;
-        }
-
-        @Override
-        public int read(byte[] b, int off, int len) throws IOException {
-            synchronized (monitor) {
-                while (true) {
-                    if (failure != null) {
-                        throw new IOException("Failure in netty event loop", failure);
-                    } else if (buffer == null) {
-                        return -1;
-                    } else if (buffer.isReadable()) {
-                        int read = Math.min(len, buffer.readableBytes());
-                        buffer.readBytes(b, off, read);
-                        buffer.discardSomeReadBytes();
-                        return read;
-                    } else if (done) {
-                        buffer.release();
-                        buffer = null;
-                    } else {
-                        triggerUpstreamRead();
-                        checkNotOnEventLoop();
-                        try {
-                            monitor.wait();
-                        } catch (InterruptedException e) {
-                            throw new InterruptedIOException();
-                        }
-                    }
-                }
-            }
-        }
-
+    private final class Stream extends ByteBufQueueInputStream {
         @Override
-        public int available() throws IOException {
-            synchronized (monitor) {
-                if (buffer == null) {
-                    return 0;
-                }
-                return buffer.readableBytes();
-            }
+        void beforeAwait() {
+            triggerUpstreamRead();
+            checkNotOnEventLoop();
         }
 
         @Override
-        public void close() throws IOException {
+        void onClose() {
             removeEarly();
         }
     }
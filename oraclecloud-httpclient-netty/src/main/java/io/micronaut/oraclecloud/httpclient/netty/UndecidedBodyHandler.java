@@ -90,7 +90,7 @@ final class UndecidedBodyHandler extends ChannelInboundHandlerAdapter {
     }
 
     public CompletableFuture<InputStream> asInputStream() {
-        StreamReadingHandler streamReadingHandler = new StreamReadingHandler(alloc);
+        StreamReadingHandler streamReadingHandler = new StreamReadingHandler();
         if (context.executor().inEventLoop()) {
             replaceWithHandler(streamReadingHandler);
             try {
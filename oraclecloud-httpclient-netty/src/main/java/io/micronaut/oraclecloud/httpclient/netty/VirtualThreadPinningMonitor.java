@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.core.annotation.Internal;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Logs JFR {@code jdk.VirtualThreadPinned} events of the virtual threads used for blocking I/O of
+ * the netty client. A pinned virtual thread blocks its carrier thread, e.g. when a request body
+ * {@link java.io.InputStream} blocks inside a {@code synchronized} block, which defeats the point
+ * of using virtual threads.
+ * <p>
+ * There is one JVM-wide event stream, started by the first client that enables this.
+ *
+ * @since 4.4.0
+ */
+@Internal
+final class VirtualThreadPinningMonitor {
+    /**
+     * Name prefix of the virtual threads created by {@link NettyHttpClient}.
+     */
+    static final String THREAD_NAME_PREFIX = "oci-netty-io-";
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    private static RecordingStream stream;
+
+    private VirtualThreadPinningMonitor() {
+    }
+
+    /**
+     * Start logging pinning events, if that is not already the case.
+     *
+     * @param threshold Minimum duration of the pinning to log
+     */
+    static synchronized void start(Duration threshold) {
+        if (stream != null) {
+            return;
+        }
+        try {
+            RecordingStream rs = new RecordingStream();
+            rs.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+            rs.onEvent(EVENT_NAME, VirtualThreadPinningMonitor::onPinned);
+            rs.startAsync();
+            stream = rs;
+        } catch (RuntimeException | LinkageError e) {
+            // JFR is not available, e.g. in a native image or a runtime image without jdk.jfr
+            LOG.warn("Unable to start virtual thread pinning diagnostics", e);
+        }
+    }
+
+    private static void onPinned(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        if (thread == null || thread.getJavaName() == null || !thread.getJavaName().startsWith(THREAD_NAME_PREFIX)) {
+            return;
+        }
+        StringBuilder trace = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                trace.append("\n\tat ").append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName());
+                if (frame.getLineNumber() > 0) {
+                    trace.append(':').append(frame.getLineNumber());
+                }
+            }
+        }
+        LOG.warn("Virtual thread {} was pinned to its carrier thread for {} during blocking OCI client I/O{}", thread.getJavaName(), event.getDuration(), trace);
+    }
+}
@@ -24,12 +24,16 @@ import com.oracle.bmc.http.client.Serializer;
 import com.oracle.bmc.http.internal.ResponseHelper;
 import com.oracle.bmc.model.RegionSchema;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.type.Argument;
 import io.micronaut.json.JsonMapper;
 import io.micronaut.serde.ObjectMapper;
 import io.micronaut.serde.annotation.SerdeImport;
 import io.micronaut.serde.config.annotation.SerdeConfig;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -37,6 +41,12 @@ import java.util.Map;
  * <br/>
  * Use {@link OciSdkMicronautSerializer#getDefaultSerializer()} method to get the default implementation
  * configured for use inside an Oracle Cloud SDK HTTP client.
+ * <br/>
+ * Besides the {@link Serializer} methods, this class has overloads that read from an
+ * {@link InputStream} and write to an {@link OutputStream}, for callers that hold the serializer
+ * and want to avoid an intermediate {@link String}. The netty client does not go through them:
+ * it serializes request bodies into netty buffers and decodes response bodies with its
+ * {@link JsonMapper} directly.
  */
 @Internal
 @SerdeImport(GetResourcePrincipalSessionTokenRequest.class)
@@ -74,6 +84,48 @@ public final class OciSdkMicronautSerializer implements Serializer {
         return objectMapper.writeValueAsString(o);
     }
 
+    /**
+     * Read a value from a stream, without copying the input into an intermediate
+     * {@link String} or byte array first. The stream is not closed.
+     *
+     * @param inputStream The JSON input
+     * @param type        The type to read
+     * @param <T>         The type to read
+     * @return The value
+     * @throws IOException If the input cannot be read or parsed
+     * @since 4.4.0
+     */
+    public <T> T readValue(InputStream inputStream, Class<T> type) throws IOException {
+        return objectMapper.readValue(inputStream, type);
+    }
+
+    /**
+     * Read a JSON array from a stream. The stream is not closed.
+     *
+     * @param inputStream The JSON input
+     * @param type        The type of the list elements
+     * @param <T>         The type of the list elements
+     * @return The list
+     * @throws IOException If the input cannot be read or parsed
+     * @since 4.4.0
+     */
+    public <T> List<T> readList(InputStream inputStream, Class<T> type) throws IOException {
+        return objectMapper.readValue(inputStream, Argument.listOf(type));
+    }
+
+    /**
+     * Write a value to a stream, without building an intermediate {@link String}. The stream is
+     * not closed.
+     *
+     * @param outputStream The output
+     * @param value        The value to write
+     * @throws IOException If the value cannot be serialized or the output cannot be written
+     * @since 4.4.0
+     */
+    public void writeValue(OutputStream outputStream, Object value) throws IOException {
+        objectMapper.writeValue(outputStream, value);
+    }
+
     /**
      * @return The implementation of object mapper configured for oci java sdk
      */
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFilter
 import com.oracle.bmc.http.client.internal.ExplicitlySetBmcModel
 import io.micronaut.oraclecloud.serde.model.BaseModel
 import io.micronaut.oraclecloud.serde.model.ComplexModel
+import io.micronaut.oraclecloud.serde.model.PlainModel
 import io.micronaut.runtime.server.EmbeddedServer
 import spock.lang.Unroll
 
@@ -133,6 +134,47 @@ class ExplicitlySetSerdeSpec extends SerdeSpecBase {
         ComplexModel.builder().baseString(null).baseInteger(null).string(null).integer(null).list(null) | '{"type":"complex","string":null,"int":null,"list":null,"baseString":null,"baseInt":null}'
     }
 
+    @Unroll
+    void "Generated serde serialization test #modelBuilder"() {
+        given:
+        EmbeddedServer embeddedServer = initContext()
+
+        when:
+        var response = echoTest(embeddedServer, modelBuilder.build())
+
+        then:
+        response == json
+
+        cleanup:
+        embeddedServer.close()
+
+        where:
+        modelBuilder                                                 | json
+        PlainModel.builder()                                         | '{}'
+        PlainModel.builder().string("one")                           | '{"string":"one"}'
+        PlainModel.builder().string(null).integer(1)                 | '{"string":null,"int":1}'
+        PlainModel.builder().integer(null).list(["1", "2"])          | '{"int":null,"list":["1","2"]}'
+    }
+
+    void "Generated serde deserialization keeps explicitly set properties"() {
+        given:
+        EmbeddedServer embeddedServer = initContext()
+
+        when:
+        PlainModel model = echoTest(embeddedServer, '{"string":"one","int":null,"extra":[1]}', PlainModel)
+
+        then:
+        model.string == "one"
+        model.integer == null
+        model.list == null
+        model.wasPropertyExplicitlySet("string")
+        model.wasPropertyExplicitlySet("int")
+        !model.wasPropertyExplicitlySet("list")
+
+        cleanup:
+        embeddedServer.close()
+    }
+
     @JsonFilter("explicitlySetFilter")
     static class MyModel extends ExplicitlySetBmcModel {
         String string
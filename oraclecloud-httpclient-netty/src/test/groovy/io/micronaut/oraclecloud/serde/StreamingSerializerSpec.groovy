@@ -0,0 +1,37 @@
+package io.micronaut.oraclecloud.serde
+
+import io.micronaut.oraclecloud.serde.model.PlainModel
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class StreamingSerializerSpec extends Specification {
+
+    OciSdkMicronautSerializer serializer = (OciSdkMicronautSerializer) OciSdkMicronautSerializer.getDefaultSerializer()
+
+    void "read and write through streams"() {
+        given:
+        var out = new ByteArrayOutputStream()
+
+        when:
+        serializer.writeValue(out, PlainModel.builder().string("foo").integer(1).build())
+
+        then:
+        '{"string":"foo","int":1}' == out.toString(StandardCharsets.UTF_8)
+
+        when:
+        var model = serializer.readValue(new ByteArrayInputStream(out.toByteArray()), PlainModel)
+
+        then:
+        model.string == "foo"
+        model.integer == 1
+        model.wasPropertyExplicitlySet("string")
+        !model.wasPropertyExplicitlySet("list")
+
+        when:
+        var list = serializer.readList(new ByteArrayInputStream('[{"string":"a"},{"string":"b"}]'.getBytes(StandardCharsets.UTF_8)), PlainModel)
+
+        then:
+        list*.string == ["a", "b"]
+    }
+}
@@ -0,0 +1,82 @@
+package io.micronaut.oraclecloud.serde.model;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.oracle.bmc.http.client.internal.ExplicitlySetBmcModel;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Non-polymorphic model, like most OCI SDK models. The serde processor generates a serde for it.
+ */
+@JsonFilter(ExplicitlySetBmcModel.EXPLICITLY_SET_FILTER_NAME)
+@JsonDeserialize(builder = PlainModel.Builder.class)
+public final class PlainModel extends ExplicitlySetBmcModel {
+    @JsonProperty("string")
+    private final String string;
+
+    @JsonProperty("int")
+    private final Integer integer;
+
+    @JsonProperty("list")
+    private final List<String> list;
+
+    public PlainModel(String string, Integer integer, List<String> list) {
+        this.string = string;
+        this.integer = integer;
+        this.list = list;
+    }
+
+    public String getString() {
+        return string;
+    }
+
+    public Integer getInteger() {
+        return integer;
+    }
+
+    public List<String> getList() {
+        return list;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class Builder {
+        private String string;
+        private Integer integer;
+        private List<String> list;
+
+        private final Set<String> explicitlySet = new HashSet<>();
+
+        public Builder string(String string) {
+            this.string = string;
+            explicitlySet.add("string");
+            return this;
+        }
+
+        public Builder integer(Integer integer) {
+            this.integer = integer;
+            explicitlySet.add("int");
+            return this;
+        }
+
+        public Builder list(List<String> list) {
+            this.list = list;
+            explicitlySet.add("list");
+            return this;
+        }
+
+        public PlainModel build() {
+            PlainModel model = new PlainModel(string, integer, list);
+            explicitlySet.forEach(model::markPropertyAsExplicitlySet);
+            return model;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ByteBodyInputStreamTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        executor = null;
+    }
+
+    @Test
+    public void closeWhileReading() throws Throwable {
+        ByteBodyInputStream stream = new ByteBodyInputStream();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        stream.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        });
+
+        AtomicReference<Thread> reader = new AtomicReference<>();
+        Future<Integer> read = executor.submit(() -> {
+            reader.set(Thread.currentThread());
+            return stream.read();
+        });
+        // wait until the reader is parked waiting for data
+        while (reader.get() == null || reader.get().getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+
+        stream.close();
+
+        Assertions.assertTrue(cancelled.get());
+        try {
+            read.get(5, TimeUnit.SECONDS);
+            Assertions.fail();
+        } catch (ExecutionException e) {
+            Assertions.assertInstanceOf(IOException.class, e.getCause());
+        }
+
+        // data that was in flight when the subscription was cancelled is released
+        ByteBuf late = Unpooled.copiedBuffer("foo", StandardCharsets.UTF_8);
+        stream.onNext(NettyByteBufferFactory.DEFAULT.wrap(late));
+        Assertions.assertEquals(0, late.refCnt());
+        Assertions.assertEquals(-1, stream.read());
+    }
+}
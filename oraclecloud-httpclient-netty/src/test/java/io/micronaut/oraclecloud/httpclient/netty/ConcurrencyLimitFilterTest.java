@@ -0,0 +1,107 @@
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class ConcurrencyLimitFilterTest {
+    private static ConcurrencyLimitFilter.Limiter limiter(int initialLimit, int maxQueueLength, Duration maxQueueTime) {
+        return new ConcurrencyLimitFilter.Limiter("objectstorage", new ConcurrencyLimitConfiguration(true, initialLimit, 1, 10, 0.5, maxQueueLength, maxQueueTime));
+    }
+
+    @Test
+    public void rejectOverLimit() {
+        ConcurrencyLimitFilter.Limiter limiter = limiter(2, 0, Duration.ZERO);
+        ConcurrencyLimitFilter.Permit permit = limiter.acquire(true);
+        Assertions.assertNotNull(permit);
+        Assertions.assertNotNull(limiter.acquire(true));
+        Assertions.assertNull(limiter.acquire(true));
+        Assertions.assertEquals(1, limiter.rejectedTotal());
+
+        permit.release(false, true);
+        Assertions.assertNotNull(limiter.acquire(true));
+    }
+
+    @Test
+    public void queueUntilReleased() throws Exception {
+        ConcurrencyLimitFilter.Limiter limiter = limiter(1, 1, Duration.ofSeconds(10));
+        ConcurrencyLimitFilter.Permit permit = limiter.acquire(true);
+        Assertions.assertNotNull(permit);
+
+        CompletableFuture<ConcurrencyLimitFilter.Permit> queued = CompletableFuture.supplyAsync(() -> limiter.acquire(true));
+        while (limiter.queued() == 0) {
+            Thread.onSpinWait();
+        }
+        // the queue is full
+        Assertions.assertNull(limiter.acquire(true));
+
+        permit.release(false, true);
+        Assertions.assertNotNull(queued.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, limiter.queuedTotal());
+        Assertions.assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    public void queueTimeout() {
+        ConcurrencyLimitFilter.Limiter limiter = limiter(1, 1, Duration.ofMillis(10));
+        Assertions.assertNotNull(limiter.acquire(true));
+        Assertions.assertNull(limiter.acquire(true));
+        Assertions.assertEquals(1, limiter.queuedTotal());
+        Assertions.assertEquals(1, limiter.rejectedTotal());
+    }
+
+    @Test
+    public void neverBlockEventLoop() throws Exception {
+        ConcurrencyLimitFilter.Limiter limiter = limiter(1, 1, Duration.ofSeconds(10));
+        Assertions.assertNotNull(limiter.acquire(true));
+
+        EventLoop loop = new DefaultEventLoop();
+        try {
+            Assertions.assertFalse(loop.submit(ConcurrencyLimitFilter::mayBlock).get(10, TimeUnit.SECONDS));
+            long start = System.nanoTime();
+            Assertions.assertNull(loop.submit(() -> limiter.acquire(ConcurrencyLimitFilter.mayBlock())).get(10, TimeUnit.SECONDS));
+            // rejected immediately instead of waiting for the queue time
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            Assertions.assertEquals(0, limiter.queuedTotal());
+            Assertions.assertEquals(1, limiter.rejectedTotal());
+        } finally {
+            loop.shutdownGracefully();
+        }
+        Assertions.assertTrue(ConcurrencyLimitFilter.mayBlock());
+    }
+
+    @Test
+    public void additiveIncreaseMultiplicativeDecrease() {
+        ConcurrencyLimitFilter.Limiter limiter = limiter(4, 0, Duration.ZERO);
+        List<ConcurrencyLimitFilter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            permits.add(limiter.acquire(true));
+        }
+        // one limit's worth of successful responses increases the limit by about one
+        for (int i = 0; i < 4; i++) {
+            permits.remove(0).release(false, true);
+            permits.add(limiter.acquire(true));
+        }
+        Assertions.assertEquals(4, limiter.limit());
+        permits.remove(0).release(false, true);
+        Assertions.assertEquals(5, limiter.limit());
+
+        permits.remove(0).release(true, true);
+        Assertions.assertEquals(2, limiter.limit());
+        // requests of the same window do not back off again
+        permits.remove(0).release(true, true);
+        permits.remove(0).release(true, true);
+        Assertions.assertEquals(2, limiter.limit());
+
+        // a request started after the decrease backs off again
+        limiter.acquire(true).release(true, true);
+        Assertions.assertEquals(1, limiter.limit());
+    }
+}
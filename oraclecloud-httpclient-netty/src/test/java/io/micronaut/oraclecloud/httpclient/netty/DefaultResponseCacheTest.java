@@ -0,0 +1,154 @@
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+class DefaultResponseCacheTest {
+    private static ResponseCache.Entry entry(String body) {
+        return new ResponseCache.Entry("\"" + body + "\"", Map.of("content-type", List.of("text/plain")), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void memoryLru() {
+        DefaultResponseCache cache = new DefaultResponseCache(8, null, 0);
+        cache.put("a", entry("aaaa"));
+        cache.put("b", entry("bbbb"));
+        // touch a, so that b is the least recently used
+        Assertions.assertNotNull(cache.get("a"));
+        cache.put("c", entry("cccc"));
+
+        Assertions.assertNotNull(cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void tooLarge() {
+        DefaultResponseCache cache = new DefaultResponseCache(4, null, 0);
+        cache.put("a", entry("aaaaa"));
+        Assertions.assertNull(cache.get("a"));
+    }
+
+    @Test
+    void diskTier(@TempDir Path dir) {
+        DefaultResponseCache cache = new DefaultResponseCache(4, dir, 1024);
+        cache.put("a", entry("aaaa"));
+        cache.put("b", entry("bbbb"));
+
+        ResponseCache.Entry a = cache.get("a");
+        Assertions.assertNotNull(a);
+        Assertions.assertEquals("\"aaaa\"", a.etag());
+        Assertions.assertEquals(List.of("text/plain"), a.headers().get("content-type"));
+        Assertions.assertEquals("aaaa", new String(a.body(), StandardCharsets.UTF_8));
+        Assertions.assertNotNull(cache.get("b"));
+    }
+
+    @Test
+    void diskTierOnlyStoresKeyDigest(@TempDir Path dir) throws IOException {
+        DefaultResponseCache cache = new DefaultResponseCache(4, dir, 1024);
+        String key = "/o/foo\nopc-sse-customer-key:secret-key";
+        cache.put(key, entry("aaaa"));
+        cache.put("b", entry("bbbb"));
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Assertions.assertFalse(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1).contains("secret-key"));
+            }
+        }
+        ResponseCache.Entry entry = cache.get(key);
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals("aaaa", new String(entry.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void nonPersistentNotSpilled(@TempDir Path dir) throws IOException {
+        DefaultResponseCache cache = new DefaultResponseCache(4, dir, 1024);
+        cache.put("a", new ResponseCache.Entry("\"a\"", Map.of(), "aaaa".getBytes(StandardCharsets.UTF_8), false));
+        cache.put("b", entry("bbbb"));
+
+        Assertions.assertNull(cache.get("a"));
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void diskTierSurvivesRestart(@TempDir Path dir) throws IOException {
+        DefaultResponseCache cache = new DefaultResponseCache(4, dir, 1024);
+        cache.put("a", entry("aaaa"));
+        cache.put("b", entry("bbbb"));
+        // a write that did not finish
+        Files.createTempFile(dir, "entry", ".tmp");
+
+        DefaultResponseCache restarted = new DefaultResponseCache(4, dir, 1024);
+        ResponseCache.Entry a = restarted.get("a");
+        Assertions.assertNotNull(a);
+        Assertions.assertEquals("aaaa", new String(a.body(), StandardCharsets.UTF_8));
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void diskTierLimitAppliesToPreviousFiles(@TempDir Path dir) throws IOException {
+        DefaultResponseCache cache = new DefaultResponseCache(4, dir, 1024);
+        cache.put("a", entry("aaaa"));
+        cache.put("b", entry("bbbb"));
+        long size;
+        try (Stream<Path> files = Files.list(dir)) {
+            size = Files.size(files.findFirst().orElseThrow());
+        }
+
+        // the previous file does not fit the new limit and is deleted
+        new DefaultResponseCache(4, dir, size - 1);
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void asyncLookupDoesNoFileIoOnCallingThread(@TempDir Path dir) throws IOException {
+        DefaultResponseCache cache = new DefaultResponseCache(4, dir, 1024);
+        cache.put("a", entry("aaaa"));
+        cache.put("b", entry("bbbb"));
+        // a is on disk, b in memory
+        Queue<Runnable> tasks = new ArrayDeque<>();
+
+        // memory hits and misses complete without the executor
+        Assertions.assertEquals("\"bbbb\"", cache.get("b", tasks::add).toCompletableFuture().getNow(null).etag());
+        Assertions.assertNull(cache.get("c", tasks::add).toCompletableFuture().getNow(null));
+        Assertions.assertTrue(tasks.isEmpty());
+
+        // the file is only read by the executor
+        CompletableFuture<ResponseCache.Entry> a = cache.get("a", tasks::add).toCompletableFuture();
+        Assertions.assertFalse(a.isDone());
+        Assertions.assertEquals(1, tasks.size());
+
+        // read a and promote it to memory, which evicts b
+        tasks.remove().run();
+        Assertions.assertEquals("aaaa", new String(a.getNow(null).body(), StandardCharsets.UTF_8));
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(1, files.count());
+        }
+
+        // write b to disk
+        tasks.remove().run();
+        Assertions.assertTrue(tasks.isEmpty());
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(2, files.count());
+        }
+        Assertions.assertNotNull(cache.get("b"));
+    }
+}
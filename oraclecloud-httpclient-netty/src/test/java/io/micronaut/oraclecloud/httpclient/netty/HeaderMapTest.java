@@ -2,10 +2,13 @@ package io.micronaut.oraclecloud.httpclient.netty;
 
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.MutableHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 
 @SuppressWarnings({"RedundantCollectionOperation", "MismatchedQueryAndUpdateOfCollection"})
 class HeaderMapTest {
@@ -35,4 +38,41 @@ class HeaderMapTest {
 
         Assertions.assertNull(map.remove("Foo"));
     }
+
+    @Test
+    public void nettyHeaderMapIsLiveView() {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.add("Foo", "bar");
+
+        HeaderMap map = new HeaderMap(headers);
+        List<String> foo = map.get("FOO");
+        Assertions.assertEquals(List.of("bar"), foo);
+
+        headers.add("foo", "baz");
+        Assertions.assertEquals(List.of("bar", "baz"), foo);
+        Assertions.assertEquals("baz", foo.get(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> foo.get(2));
+
+        Assertions.assertEquals(List.of("bar", "baz"), map.put("foo", map.get("foo")));
+        Assertions.assertEquals(List.of("bar", "baz"), headers.getAll("foo"));
+
+        map.put("X-Other", List.of("1"));
+        Assertions.assertEquals("1", headers.get("x-other"));
+        Assertions.assertEquals(Map.of("foo", List.of("bar", "baz"), "X-Other", List.of("1")), Map.copyOf(map));
+
+        Assertions.assertNull(map.get("missing"));
+        map.clear();
+        Assertions.assertTrue(headers.isEmpty());
+    }
+
+    @Test
+    public void nettyBackedMicronautHeaders() {
+        MutableHttpHeaders headers = HttpRequest.GET("").getHeaders();
+        headers.add("Foo", "bar");
+
+        Map<String, List<String>> map = HeaderMap.of(headers);
+        Assertions.assertEquals(List.of("bar"), map.get("foo"));
+        map.remove("foo");
+        Assertions.assertFalse(headers.contains("Foo"));
+    }
 }
@@ -1,6 +1,7 @@
 package io.micronaut.oraclecloud.httpclient.netty;
 
 import io.micronaut.context.ApplicationContext;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -21,4 +22,52 @@ public class LegacyNettyManagedTest extends NettyManagedTest {
     void simpleRequestTestFilters() throws Exception {
         super.simpleRequestTestFilters();
     }
+
+    @Override
+    @Test
+    @Disabled // copies of buffered streaming bodies are only replayable in the new client impl
+    void replayBufferedBodyFromMemory() throws Exception {
+        super.replayBufferedBodyFromMemory();
+    }
+
+    @Override
+    @Test
+    @Disabled // copies of buffered streaming bodies are only replayable in the new client impl
+    void replayBufferedBodyFromFile() throws Exception {
+        super.replayBufferedBodyFromFile();
+    }
+
+    @Override
+    @Test
+    void http2FallsBackForPlaintext() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> newBuilder().property(NettyClientProperties.HTTP2, true).build());
+    }
+
+    @Override
+    @Test
+    @Disabled // connection warm-up is only implemented for the new client impl
+    void warmupConnections() throws Exception {
+        super.warmupConnections();
+    }
+
+    @Override
+    @Test
+    @Disabled // request coalescing is only implemented for the new client impl
+    void coalesceGetRequests() throws Exception {
+        super.coalesceGetRequests();
+    }
+
+    @Override
+    @Test
+    @Disabled // aborting the exchange on cancellation is only implemented for the new client impl
+    void cancelInFlightRequest() throws Exception {
+        super.cancelInFlightRequest();
+    }
+
+    @Override
+    @Test
+    @Disabled // the response cache is only implemented for the new client impl
+    void responseCacheRevalidates() throws Exception {
+        super.responseCacheRevalidates();
+    }
 }
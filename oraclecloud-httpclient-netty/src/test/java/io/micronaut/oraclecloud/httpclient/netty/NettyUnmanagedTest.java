@@ -4,24 +4,53 @@ import com.oracle.bmc.common.ClientBuilderBase;
 import com.oracle.bmc.http.client.HttpClient;
 import com.oracle.bmc.http.client.HttpClientBuilder;
 import com.oracle.bmc.http.client.HttpProvider;
+import com.oracle.bmc.http.client.HttpRequest;
 import com.oracle.bmc.http.client.HttpResponse;
 import com.oracle.bmc.http.client.Method;
+import com.oracle.bmc.http.client.StandardClientProperties;
 import io.micronaut.oraclecloud.httpclient.NettyTest;
+import io.micronaut.scheduling.LoomSupport;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.CLASS_AND_METHOD_ATTRIBUTION;
+import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.CLASS_AND_METHOD_KEY_NAME;
 import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.OCI_NETTY_CLIENT_FILTERS_KEY;
+import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.REQUEST_BODY_MEMORY_LIMIT;
 
 public class NettyUnmanagedTest extends NettyTest {
     private static final HttpProvider PROVIDER = new NettyHttpProvider();
@@ -99,4 +128,497 @@ public class NettyUnmanagedTest extends NettyTest {
         Assertions.assertTrue(firstTestNettyClientFilter.getOrder() < secondTestNettyClientFilter.getOrder());
         Assertions.assertTrue(firstTestNettyClientFilter.getEndTime() > secondTestNettyClientFilter.getEndTime());
     }
+
+    @Test
+    void classAndMethodAttribution() throws Exception {
+        try (HttpClient client = newBuilder().build()) {
+            // not called from an SDK client
+            Assertions.assertEquals("N/A", client.createRequest(Method.GET).attribute(CLASS_AND_METHOD_KEY_NAME));
+        }
+        try (HttpClient client = newBuilder().property(CLASS_AND_METHOD_ATTRIBUTION, false).build()) {
+            Assertions.assertNull(client.createRequest(Method.GET).attribute(CLASS_AND_METHOD_KEY_NAME));
+        }
+    }
+
+    @Test
+    void jsonBodyDigest() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            String content = ((FullHttpRequest) request).content().toString(StandardCharsets.UTF_8);
+            Assertions.assertEquals("{\"s\":\"foo\"}", content);
+            Assertions.assertEquals(content.length(), request.headers().getInt("content-length"));
+            Assertions.assertEquals(sha256(content), request.headers().get("x-content-sha256"));
+
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.EMPTY_BUFFER);
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+        MyBean bean = new MyBean();
+        bean.setS("foo");
+
+        List<Object> bodies = new ArrayList<>();
+        try (HttpClient client = newBuilder()
+            .registerRequestInterceptor(0, req -> bodies.add(req.body()))
+            .build()) {
+            client.createRequest(Method.POST)
+                .body(bean)
+                .header("content-type", "application/json")
+                .execute().toCompletableFuture()
+                .get().close();
+        }
+
+        // the signer only supports String bodies
+        Assertions.assertEquals(List.of("{\"s\":\"foo\"}"), bodies);
+    }
+
+    @Test
+    void replayBufferedBodyFromMemory() throws Exception {
+        replayBufferedBody(1024);
+    }
+
+    @Test
+    void replayBufferedBodyFromFile() throws Exception {
+        replayBufferedBody(1);
+    }
+
+    private void replayBufferedBody(int memoryLimit) throws Exception {
+        for (int i = 0; i < 2; i++) {
+            netty.handleOneRequest((ctx, request) -> {
+                Assertions.assertEquals(3, request.headers().getInt("content-length"));
+                Assertions.assertEquals("xyz", ((FullHttpRequest) request).content().toString(StandardCharsets.UTF_8));
+
+                DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.EMPTY_BUFFER);
+                computeContentLength(response);
+                ctx.writeAndFlush(response);
+            });
+        }
+
+        try (HttpClient client = newBuilder()
+            .property(StandardClientProperties.BUFFER_REQUEST, true)
+            .property(REQUEST_BODY_MEMORY_LIMIT, memoryLimit)
+            .build()) {
+            HttpRequest template = client.createRequest(Method.PUT)
+                .appendPathPart("foo")
+                .body(new ByteArrayInputStream("xyz".getBytes(StandardCharsets.UTF_8)))
+                .header("content-type", "text/plain");
+            // like an SDK retry: the stream is only consumed once
+            for (int i = 0; i < 2; i++) {
+                try (HttpResponse response = template.copy().execute().toCompletableFuture().get()) {
+                    Assertions.assertEquals(200, response.status());
+                }
+            }
+            template.discard();
+        }
+    }
+
+    @Test
+    void spillUnknownLengthBody() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            // the length is known once the body has been buffered
+            Assertions.assertEquals(3, request.headers().getInt("content-length"));
+            Assertions.assertEquals("xyz", ((FullHttpRequest) request).content().toString(StandardCharsets.UTF_8));
+
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.EMPTY_BUFFER);
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+
+        try (HttpClient client = newBuilder()
+            .property(StandardClientProperties.BUFFER_REQUEST, false)
+            .property(REQUEST_BODY_MEMORY_LIMIT, 1)
+            .build()) {
+            try (HttpResponse response = client.createRequest(Method.PUT)
+                .appendPathPart("foo")
+                .body(new ByteArrayInputStream("xyz".getBytes(StandardCharsets.UTF_8)))
+                .header("content-type", "text/plain")
+                .execute().toCompletableFuture()
+                .get()) {
+                Assertions.assertEquals(200, response.status());
+            }
+        }
+    }
+
+    @Test
+    void virtualThreadStreamingBody() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            Assertions.assertEquals("xyz", ((FullHttpRequest) request).content().toString(StandardCharsets.UTF_8));
+
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer("bar".getBytes(StandardCharsets.UTF_8)));
+            response.headers().add("Content-Type", "text/plain");
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+
+        try (HttpClient client = newBuilder()
+            .property(StandardClientProperties.BUFFER_REQUEST, false)
+            .property(NettyClientProperties.VIRTUAL_THREADS, true)
+            .build()) {
+            // without loom support, the client falls back to a platform thread pool
+            Assertions.assertEquals(!LoomSupport.isSupported(), ((NettyHttpClient) client).blockingIoExecutor instanceof ThreadPoolExecutor);
+            Assumptions.assumeTrue(LoomSupport.isSupported(), "Virtual threads are not supported by this JVM");
+
+            Set<Thread> readers = ConcurrentHashMap.newKeySet();
+            InputStream body = new ByteArrayInputStream("xyz".getBytes(StandardCharsets.UTF_8)) {
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    readers.add(Thread.currentThread());
+                    return super.read(b, off, len);
+                }
+
+                @Override
+                public int read() {
+                    readers.add(Thread.currentThread());
+                    return super.read();
+                }
+            };
+            try (HttpResponse response = client.createRequest(Method.PUT)
+                .appendPathPart("foo")
+                .body(body, 3)
+                .header("content-type", "text/plain")
+                .execute().toCompletableFuture()
+                .get()) {
+                Assertions.assertEquals(200, response.status());
+                Assertions.assertEquals("bar", response.textBody().toCompletableFuture().get());
+            }
+
+            Assertions.assertFalse(readers.isEmpty());
+            for (Thread reader : readers) {
+                Assertions.assertTrue(reader.getName().startsWith(VirtualThreadPinningMonitor.THREAD_NAME_PREFIX), reader.getName());
+                // Thread.isVirtual is not available at the java 17 language level
+                Assertions.assertEquals(true, Thread.class.getMethod("isVirtual").invoke(reader), reader.getName());
+            }
+        }
+    }
+
+    @Test
+    void resumeDownload() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            Assertions.assertEquals("bytes=3-", request.headers().get("range"));
+            Assertions.assertEquals("\"v1\"", request.headers().get("if-match"));
+
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.PARTIAL_CONTENT, Unpooled.wrappedBuffer("bar".getBytes(StandardCharsets.UTF_8)));
+            response.headers().add("Content-Type", "application/octet-stream");
+            response.headers().add("Content-Range", "bytes 3-5/6");
+            response.headers().add("etag", "\"v1\"");
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+
+        Path file = Files.createTempFile("download", ".bin");
+        Path etagFile = etagFile(file);
+        try (HttpClient client = newBuilder().build()) {
+            Files.writeString(file, "foo");
+            Files.writeString(etagFile, "\"v1\"");
+            long size = FileDownloads.download(file, 6, "\"v1\"", (offset, ifMatch) -> openRange(client, offset, ifMatch), 1);
+            Assertions.assertEquals(6, size);
+            Assertions.assertEquals("foobar", Files.readString(file));
+            Assertions.assertFalse(Files.exists(etagFile));
+
+            // already complete, e.g. the process stopped before deleting the etag file. No request
+            Files.writeString(etagFile, "\"v1\"");
+            Assertions.assertEquals(6, FileDownloads.download(file, 6, "\"v1\"", (offset, ifMatch) -> Assertions.fail(), 1));
+            Assertions.assertEquals("foobar", Files.readString(file));
+            Assertions.assertFalse(Files.exists(etagFile));
+        } finally {
+            Files.delete(file);
+            Files.deleteIfExists(etagFile);
+        }
+    }
+
+    @Test
+    void resumeDownloadStalePrefix() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            // the existing bytes are from another version, the full body is requested
+            Assertions.assertFalse(request.headers().contains("range"));
+            Assertions.assertEquals("\"v2\"", request.headers().get("if-match"));
+
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer("bazbar".getBytes(StandardCharsets.UTF_8)));
+            response.headers().add("Content-Type", "application/octet-stream");
+            response.headers().add("etag", "\"v2\"");
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+
+        Path file = Files.createTempFile("download", ".bin");
+        Path etagFile = etagFile(file);
+        try (HttpClient client = newBuilder().build()) {
+            // partial download of the previous version
+            Files.writeString(file, "foo");
+            Files.writeString(etagFile, "\"v1\"");
+            Assertions.assertEquals(6, FileDownloads.download(file, 6, "\"v2\"", (offset, ifMatch) -> openRange(client, offset, ifMatch), 1));
+            Assertions.assertEquals("bazbar", Files.readString(file));
+            Assertions.assertFalse(Files.exists(etagFile));
+        } finally {
+            Files.delete(file);
+            Files.deleteIfExists(etagFile);
+        }
+    }
+
+    @Test
+    void resumeDownloadRecordsEtag() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            // the body ends early, the connection is closed
+            DefaultHttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+            response.headers().add("Content-Type", "application/octet-stream");
+            response.headers().add("Content-Length", 6);
+            response.headers().add("etag", "\"v1\"");
+            ctx.write(response);
+            ctx.writeAndFlush(new DefaultHttpContent(Unpooled.wrappedBuffer("foo".getBytes(StandardCharsets.UTF_8))))
+                .addListener(ChannelFutureListener.CLOSE);
+        });
+
+        Path file = Files.createTempFile("download", ".bin");
+        Path etagFile = etagFile(file);
+        try (HttpClient client = newBuilder().build()) {
+            Assertions.assertThrows(IOException.class, () -> FileDownloads.download(file, 6, null, (offset, ifMatch) -> openRange(client, offset, ifMatch), 1));
+            // a later call with the same etag may resume the partial file
+            Assertions.assertEquals("\"v1\"", Files.readString(etagFile));
+        } finally {
+            Files.delete(file);
+            Files.deleteIfExists(etagFile);
+        }
+    }
+
+    private static Path etagFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".etag");
+    }
+
+    @Test
+    void resumeDownloadRangeIgnored() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            // the server sends the full body instead of the range
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer("foobar".getBytes(StandardCharsets.UTF_8)));
+            response.headers().add("Content-Type", "application/octet-stream");
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+
+        Path file = Files.createTempFile("download", ".bin");
+        try (HttpClient client = newBuilder().build()) {
+            Files.writeString(file, "foo");
+            Assertions.assertEquals(6, FileDownloads.download(file, 6, null, (offset, ifMatch) -> openRange(client, offset, ifMatch), 1));
+            Assertions.assertEquals("foobar", Files.readString(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void resumeDownloadObjectChanged() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.PARTIAL_CONTENT, Unpooled.wrappedBuffer("bazz".getBytes(StandardCharsets.UTF_8)));
+            response.headers().add("Content-Type", "application/octet-stream");
+            response.headers().add("Content-Range", "bytes 3-6/7");
+            response.headers().add("etag", "\"v2\"");
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+
+        Path file = Files.createTempFile("download", ".bin");
+        Path etagFile = etagFile(file);
+        try (HttpClient client = newBuilder().build()) {
+            Files.writeString(file, "foo");
+            Files.writeString(etagFile, "\"v1\"");
+            Assertions.assertThrows(IOException.class, () -> FileDownloads.download(file, 6, "\"v1\"", (offset, ifMatch) -> openRange(client, offset, ifMatch), 3));
+            // nothing is appended
+            Assertions.assertEquals("foo", Files.readString(file));
+        } finally {
+            Files.delete(file);
+            Files.deleteIfExists(etagFile);
+        }
+    }
+
+    private static FileDownloads.Body openRange(HttpClient client, long offset, String ifMatch) throws IOException {
+        try {
+            HttpRequest request = client.createRequest(Method.GET).appendPathPart("foo");
+            if (offset > 0) {
+                request.header("range", "bytes=" + offset + "-");
+            }
+            if (ifMatch != null) {
+                request.header("if-match", ifMatch);
+            }
+            HttpResponse response = request.execute().toCompletableFuture().get();
+            List<String> contentRange = response.headers().get("content-range");
+            List<String> contentLength = response.headers().get("content-length");
+            List<String> etag = response.headers().get("etag");
+            return FileDownloads.Body.of(
+                response.streamBody().toCompletableFuture().get(),
+                contentRange == null ? null : contentRange.get(0),
+                contentLength == null ? -1 : Long.parseLong(contentLength.get(0)),
+                etag == null ? null : etag.get(0)
+            );
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Test
+    void coalesceGetRequests() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        netty.handleOneRequest((ctx, request) -> {
+            requests.incrementAndGet();
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer("bar".getBytes(StandardCharsets.UTF_8)));
+            response.headers().add("Content-Type", "text/plain");
+            computeContentLength(response);
+            // give the second request time to join this one
+            ctx.executor().schedule(() -> ctx.writeAndFlush(response), 500, TimeUnit.MILLISECONDS);
+        });
+
+        try (HttpClient client = newBuilder().property(NettyClientProperties.COALESCE_GET_REQUESTS, true).build()) {
+            CompletableFuture<HttpResponse> first = client.createRequest(Method.GET).appendPathPart("foo").execute().toCompletableFuture();
+            CompletableFuture<HttpResponse> second = client.createRequest(Method.GET).appendPathPart("foo").execute().toCompletableFuture();
+            try (HttpResponse r1 = first.get(); HttpResponse r2 = second.get()) {
+                Assertions.assertEquals("bar", r1.textBody().toCompletableFuture().get());
+                Assertions.assertEquals("bar", r2.textBody().toCompletableFuture().get());
+            }
+        }
+        Assertions.assertEquals(1, requests.get());
+    }
+
+    @Test
+    void cancelInFlightRequest() throws Exception {
+        CompletableFuture<Channel> serverChannel = new CompletableFuture<>();
+        netty.handleOneRequest((ctx, request) -> {
+            // hold the response until the client gives up
+            serverChannel.complete(ctx.channel());
+        });
+
+        try (HttpClient client = newBuilder().build()) {
+            CompletableFuture<HttpResponse> future = client.createRequest(Method.GET).appendPathPart("foo").execute().toCompletableFuture();
+            Channel channel = serverChannel.get(10, TimeUnit.SECONDS);
+            Assertions.assertTrue(future.cancel(true));
+            // the request is aborted, which closes the connection
+            Assertions.assertTrue(channel.closeFuture().await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void responseCacheRevalidates() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            Assertions.assertFalse(request.headers().contains("if-none-match"));
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer("bar".getBytes(StandardCharsets.UTF_8)));
+            response.headers().add("Content-Type", "text/plain");
+            response.headers().add("etag", "\"v1\"");
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+        netty.handleOneRequest((ctx, request) -> {
+            Assertions.assertEquals("\"v1\"", request.headers().get("if-none-match"));
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_MODIFIED, Unpooled.EMPTY_BUFFER);
+            response.headers().add("etag", "\"v1\"");
+            ctx.writeAndFlush(response);
+        });
+
+        DefaultResponseCache delegate = new DefaultResponseCache(1024 * 1024, null, 0);
+        CountDownLatch stored = new CountDownLatch(1);
+        Set<Thread> lookupThreads = ConcurrentHashMap.newKeySet();
+        ResponseCache cache = new ResponseCache() {
+            @Override
+            public Entry get(String key) {
+                lookupThreads.add(Thread.currentThread());
+                return delegate.get(key);
+            }
+
+            @Override
+            public void put(String key, Entry entry) {
+                delegate.put(key, entry);
+                stored.countDown();
+            }
+        };
+        try (HttpClient client = newBuilder().property(NettyClientProperties.RESPONSE_CACHE, cache).build()) {
+            for (int i = 0; i < 2; i++) {
+                try (HttpResponse response = client.createRequest(Method.GET).appendPathPart("foo").execute().toCompletableFuture().get()) {
+                    Assertions.assertEquals(200, response.status());
+                    Assertions.assertEquals(List.of("\"v1\""), response.headers().get("etag"));
+                    Assertions.assertEquals("bar", response.textBody().toCompletableFuture().get());
+                }
+                // the response is stored off the event loop
+                Assertions.assertTrue(stored.await(10, TimeUnit.SECONDS));
+            }
+        }
+        // the blocking lookup runs on the blocking IO executor, not on the caller of execute()
+        Assertions.assertFalse(lookupThreads.isEmpty());
+        Assertions.assertFalse(lookupThreads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    void responseCacheSkipsSseCustomerKey() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            netty.handleOneRequest((ctx, request) -> {
+                Assertions.assertFalse(request.headers().contains("if-none-match"));
+                DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer("bar".getBytes(StandardCharsets.UTF_8)));
+                response.headers().add("etag", "\"v1\"");
+                computeContentLength(response);
+                ctx.writeAndFlush(response);
+            });
+        }
+
+        try (HttpClient client = newBuilder().property(NettyClientProperties.RESPONSE_CACHE, new DefaultResponseCache(1024 * 1024, null, 0)).build()) {
+            for (int i = 0; i < 2; i++) {
+                try (HttpResponse response = client.createRequest(Method.GET).appendPathPart("foo").header("opc-sse-customer-key", "key").execute().toCompletableFuture().get()) {
+                    Assertions.assertEquals(200, response.status());
+                }
+            }
+        }
+    }
+
+    @Test
+    void responseCacheOperationsWithoutAttribution() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.EMPTY_BUFFER);
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+
+        try (HttpClient client = newBuilder()
+            .property(NettyClientProperties.RESPONSE_CACHE, new DefaultResponseCache(1024 * 1024, null, 0))
+            .property(NettyClientProperties.RESPONSE_CACHE_OPERATIONS, Set.of("SecretsClient.getSecretBundle"))
+            .property(CLASS_AND_METHOD_ATTRIBUTION, false)
+            .build();
+             HttpResponse response = client.createRequest(Method.GET).appendPathPart("foo").execute().toCompletableFuture().get()) {
+            Assertions.assertEquals(200, response.status());
+        }
+    }
+
+    @Test
+    void http2FallsBackForPlaintext() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            // h2 is only offered with ALPN, plaintext connections stay on HTTP/1.1
+            Assertions.assertEquals(HttpVersion.HTTP_1_1, request.protocolVersion());
+
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.EMPTY_BUFFER);
+            computeContentLength(response);
+            ctx.writeAndFlush(response);
+        });
+
+        try (HttpClient client = newBuilder().property(NettyClientProperties.HTTP2, true).build();
+             HttpResponse response = client.createRequest(Method.GET).execute().toCompletableFuture().get()) {
+            Assertions.assertEquals(200, response.status());
+        }
+    }
+
+    @Test
+    void warmupConnections() throws Exception {
+        Set<Channel> channels = ConcurrentHashMap.newKeySet();
+        CountDownLatch warmedUp = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            netty.handleOneRequest((ctx, request) -> {
+                Assertions.assertEquals(HttpMethod.HEAD, request.method());
+                channels.add(ctx.channel());
+
+                DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_FOUND, Unpooled.EMPTY_BUFFER);
+                computeContentLength(response);
+                ctx.writeAndFlush(response);
+                warmedUp.countDown();
+            });
+        }
+
+        try (HttpClient client = newBuilder().property(NettyClientProperties.WARMUP_CONNECTIONS, 2).build()) {
+            Assertions.assertTrue(warmedUp.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(2, channels.size());
+        }
+    }
+
+    private static String sha256(String s) throws NoSuchAlgorithmException {
+        return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8)));
+    }
 }
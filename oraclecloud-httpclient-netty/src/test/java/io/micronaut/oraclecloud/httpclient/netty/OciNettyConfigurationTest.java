@@ -0,0 +1,46 @@
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.exceptions.BeanInstantiationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Map;
+
+class OciNettyConfigurationTest {
+    @Test
+    void endpointServiceIds() {
+        try (ApplicationContext ctx = ApplicationContext.run(Map.of(
+            "oci.netty.endpoint-service-ids.objectstorage", "oci-objectstorage",
+            "oci.netty.warmup-connections", 4
+        ))) {
+            OciNettyConfiguration configuration = ctx.getBean(OciNettyConfiguration.class);
+            Assertions.assertEquals("oci-objectstorage", configuration.serviceId(URI.create("https://objectstorage.us-phoenix-1.oraclecloud.com")));
+            Assertions.assertEquals("oci", configuration.serviceId(URI.create("https://telemetry-ingestion.us-phoenix-1.oraclecloud.com")));
+            Assertions.assertEquals(4, configuration.warmupConnections());
+        }
+    }
+
+    @Test
+    void negativeRequestBodyMemoryLimit() {
+        try (ApplicationContext ctx = ApplicationContext.run(Map.of(
+            "oci.netty.request-body-memory-limit", -1
+        ))) {
+            Assertions.assertThrows(BeanInstantiationException.class, () -> ctx.getBean(OciNettyConfiguration.class));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NettyHttpProvider().newBuilder().property(NettyClientProperties.REQUEST_BODY_MEMORY_LIMIT, -1));
+    }
+
+    @Test
+    void defaultMatchesEmptyConfiguration() {
+        try (ApplicationContext ctx = ApplicationContext.run()) {
+            Assertions.assertEquals(OciNettyConfiguration.DEFAULT, ctx.getBean(OciNettyConfiguration.class));
+        }
+    }
+
+    @Test
+    void defaultServiceId() {
+        Assertions.assertEquals("oci", OciNettyConfiguration.DEFAULT.serviceId(URI.create("https://objectstorage.us-phoenix-1.oraclecloud.com")));
+    }
+}
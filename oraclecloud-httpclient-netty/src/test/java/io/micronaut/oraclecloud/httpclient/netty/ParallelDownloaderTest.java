@@ -0,0 +1,169 @@
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ParallelDownloaderTest {
+    private final byte[] data = new byte[10_000];
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        new Random(0).nextBytes(data);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private InputStream range(long start, long end) {
+        return new ByteArrayInputStream(data, (int) start, (int) (end - start + 1));
+    }
+
+    @Test
+    public void downloadToFile() throws Exception {
+        Set<Long> failedOnce = ConcurrentHashMap.newKeySet();
+        ParallelDownloader downloader = new ParallelDownloader(executor, 4, 1024, 2);
+        Path file = Files.createTempFile("parallel", ".bin");
+        try {
+            downloader.downloadToFile(file, data.length, (start, end) -> {
+                InputStream body = range(start, end);
+                if (start % 2048 == 0 && failedOnce.add(start)) {
+                    // fail in the middle of the range, the retry continues from there
+                    return new InputStream() {
+                        int remaining = 100;
+
+                        @Override
+                        public int read() throws IOException {
+                            if (remaining-- == 0) {
+                                throw new IOException("connection reset");
+                            }
+                            return body.read();
+                        }
+                    };
+                }
+                return body;
+            });
+            Assertions.assertArrayEquals(data, Files.readAllBytes(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void downloadToFileFails() throws Exception {
+        ParallelDownloader downloader = new ParallelDownloader(executor, 4, 1024, 2);
+        Path file = Files.createTempFile("parallel", ".bin");
+        try {
+            IOException e = Assertions.assertThrows(IOException.class, () -> downloader.downloadToFile(file, data.length, (start, end) -> {
+                if (start == 4096) {
+                    throw new IOException("not found");
+                }
+                return range(start, end);
+            }));
+            Assertions.assertEquals("not found", e.getMessage());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void downloadToFileStopsOnRuntimeException() throws Exception {
+        AtomicInteger opened = new AtomicInteger();
+        ParallelDownloader downloader = new ParallelDownloader(executor, 2, 100, 1);
+        Path file = Files.createTempFile("parallel", ".bin");
+        try {
+            IOException e = Assertions.assertThrows(IOException.class, () -> downloader.downloadToFile(file, data.length, (start, end) -> {
+                opened.incrementAndGet();
+                if (start == 0) {
+                    throw new IllegalStateException("bad request");
+                }
+                return range(start, end);
+            }));
+            Assertions.assertEquals("bad request", e.getCause().getMessage());
+            // the other worker stops instead of fetching all 100 parts
+            Assertions.assertTrue(opened.get() < 10);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void orderedStreamCloseAbortsRanges() throws Exception {
+        CountDownLatch opened = new CountDownLatch(2);
+        CountDownLatch closed = new CountDownLatch(2);
+        ParallelDownloader downloader = new ParallelDownloader(executor, 2, 5000, 1);
+        InputStream stream = downloader.download(data.length, (start, end) -> {
+            opened.countDown();
+            InputStream body = range(start, end);
+            return new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    return body.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    // a slow connection
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                    return body.read(b, off, Math.min(len, 1));
+                }
+
+                @Override
+                public void close() {
+                    closed.countDown();
+                }
+            };
+        });
+        Assertions.assertTrue(opened.await(10, TimeUnit.SECONDS));
+        stream.close();
+        // the ranges in flight are closed long before they would have completed
+        Assertions.assertTrue(closed.await(10, TimeUnit.SECONDS));
+        Assertions.assertThrows(IOException.class, stream::read);
+    }
+
+    @Test
+    public void orderedStream() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ParallelDownloader downloader = new ParallelDownloader(executor, 3, 1000, 1);
+        try (InputStream stream = downloader.download(data.length, (start, end) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            byte[] part = Arrays.copyOfRange(data, (int) start, (int) end + 1);
+            return new ByteArrayInputStream(part) {
+                @Override
+                public void close() {
+                    inFlight.decrementAndGet();
+                }
+            };
+        })) {
+            Assertions.assertArrayEquals(data, stream.readAllBytes());
+        }
+        Assertions.assertTrue(maxInFlight.get() <= 3);
+    }
+}
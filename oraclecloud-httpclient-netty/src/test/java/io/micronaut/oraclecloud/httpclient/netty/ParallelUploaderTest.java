@@ -0,0 +1,130 @@
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ParallelUploaderTest {
+    private final byte[] data = new byte[10_000];
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        new Random(0).nextBytes(data);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void upload() throws Exception {
+        InMemoryTarget target = new InMemoryTarget();
+        ParallelUploader uploader = new ParallelUploader(executor, 3, 1024, 2);
+        byte[] result = uploader.upload(new ByteArrayInputStream(data), target);
+
+        Assertions.assertArrayEquals(data, result);
+        Assertions.assertEquals(10, target.parts.size());
+        Assertions.assertTrue(target.maxInFlight.get() <= 3);
+        Assertions.assertFalse(target.aborted.get());
+    }
+
+    @Test
+    public void exactMultipleOfPartSize() throws Exception {
+        InMemoryTarget target = new InMemoryTarget();
+        ParallelUploader uploader = new ParallelUploader(executor, 2, 1000, 1);
+        Assertions.assertArrayEquals(data, uploader.upload(new ByteArrayInputStream(data), target));
+        Assertions.assertEquals(10, target.parts.size());
+    }
+
+    @Test
+    public void partsSpanReadChunks() throws Exception {
+        byte[] large = new byte[300_000];
+        new Random(1).nextBytes(large);
+        InMemoryTarget target = new InMemoryTarget();
+        // each part is assembled from two read chunks
+        ParallelUploader uploader = new ParallelUploader(executor, 2, 100_000, 2);
+        Assertions.assertArrayEquals(large, uploader.upload(new ByteArrayInputStream(large), target));
+        Assertions.assertEquals(3, target.parts.size());
+    }
+
+    @Test
+    public void failedPartAborts() {
+        InMemoryTarget target = new InMemoryTarget();
+        target.failingPart = 4;
+        ParallelUploader uploader = new ParallelUploader(executor, 3, 1024, 2);
+        IOException e = Assertions.assertThrows(IOException.class, () -> uploader.upload(new ByteArrayInputStream(data), target));
+        Assertions.assertEquals("upload failed", e.getMessage());
+        Assertions.assertTrue(target.aborted.get());
+    }
+
+    private static final class InMemoryTarget implements ParallelUploader.MultipartTarget<Integer, byte[]> {
+        final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+        final Set<Integer> attempted = ConcurrentHashMap.newKeySet();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicBoolean aborted = new AtomicBoolean();
+        volatile int failingPart = -1;
+
+        @Override
+        public Integer uploadPart(int partNumber, InputStream body, long length, String contentMd5) throws IOException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (partNumber == failingPart) {
+                    throw new IOException("upload failed");
+                }
+                if (attempted.add(partNumber)) {
+                    // consume part of the body, the retry must start from the beginning again
+                    body.readNBytes(10);
+                    throw new IOException("connection reset");
+                }
+                byte[] bytes = body.readAllBytes();
+                Assertions.assertEquals(length, bytes.length);
+                Assertions.assertEquals(Base64.getEncoder().encodeToString(MessageDigest.getInstance("MD5").digest(bytes)), contentMd5);
+                parts.put(partNumber, bytes);
+                return partNumber;
+            } catch (NoSuchAlgorithmException e) {
+                throw new AssertionError(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public byte[] commit(List<Integer> partNumbers) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (int i = 0; i < partNumbers.size(); i++) {
+                Assertions.assertEquals(i + 1, partNumbers.get(i));
+                out.write(parts.get(partNumbers.get(i)));
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public void abort() {
+            aborted.set(true);
+        }
+    }
+}
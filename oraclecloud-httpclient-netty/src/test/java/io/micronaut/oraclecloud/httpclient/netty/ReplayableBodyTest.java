@@ -0,0 +1,43 @@
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+class ReplayableBodyTest {
+    @Test
+    void spilledReplaysShareMapping(@TempDir Path dir) throws Exception {
+        byte[] data = new byte[10_000];
+        new Random(0).nextBytes(data);
+        ReplayableBody body = new ReplayableBody(new ByteArrayInputStream(data), -1, 1024, ByteBufAllocator.DEFAULT, dir);
+        body.fill(Runnable::run).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        Assertions.assertTrue(body.spilled());
+
+        ByteBuf first = body.content();
+        ByteBuf second = body.content();
+        Assertions.assertSame(first.unwrap(), second.unwrap());
+
+        body.release();
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(0, files.count());
+        }
+        // replays in flight stay readable after the body is released
+        Assertions.assertArrayEquals(data, ByteBufUtil.getBytes(first));
+        Assertions.assertArrayEquals(data, ByteBufUtil.getBytes(second));
+        first.release();
+        Assertions.assertEquals(1, second.refCnt());
+        // the last replay unmaps the file
+        Assertions.assertTrue(second.release());
+        Assertions.assertEquals(0, first.unwrap().refCnt());
+    }
+}
@@ -0,0 +1,157 @@
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.http.ByteBodyHttpResponseWrapper;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.body.CloseableByteBody;
+import io.micronaut.http.body.stream.InputStreamByteBody;
+import io.micronaut.http.netty.body.AvailableNettyByteBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RequestCoalescerTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static HttpResponse<?> response(CloseableByteBody body) {
+        return ByteBodyHttpResponseWrapper.wrap(HttpResponse.ok(), body);
+    }
+
+    private static String read(RequestCoalescer.Shared shared) throws Exception {
+        try (CloseableByteBody body = shared.body(); InputStream in = body.toInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * A streamed body of unknown length, read from a stream on demand.
+     */
+    private CloseableByteBody streamed(int length) {
+        return InputStreamByteBody.create(new ByteArrayInputStream(new byte[length]), OptionalLong.empty(), executor, NettyByteBufferFactory.DEFAULT);
+    }
+
+    @Test
+    void synchronousFailure() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<RequestCoalescer.Shared> failed = coalescer.execute("key", () -> {
+            throw new IllegalStateException("foo");
+        });
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals("foo", e.getCause().getMessage());
+
+        // the next request starts its own exchange instead of joining the failed one
+        AtomicInteger exchanges = new AtomicInteger();
+        CompletableFuture<RequestCoalescer.Shared> next = coalescer.execute("key", () -> {
+            exchanges.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("bar"));
+        });
+        Assertions.assertEquals(1, exchanges.get());
+        Assertions.assertTrue(next.isCompletedExceptionally());
+    }
+
+    @Test
+    void joinInFlight() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<HttpResponse<?>> exchange = new CompletableFuture<>();
+        CompletableFuture<RequestCoalescer.Shared> first = coalescer.execute("key", () -> exchange);
+        CompletableFuture<RequestCoalescer.Shared> second = coalescer.execute("key", () -> Assertions.fail("joins the exchange in flight"));
+        Assertions.assertFalse(first.isDone());
+        Assertions.assertFalse(second.isDone());
+
+        exchange.complete(response(new AvailableNettyByteBody(Unpooled.copiedBuffer("foo", StandardCharsets.UTF_8))));
+        Assertions.assertEquals("foo", read(first.get(10, TimeUnit.SECONDS)));
+        Assertions.assertEquals("foo", read(second.get(10, TimeUnit.SECONDS)));
+
+        // completed flights are not joined
+        AtomicInteger exchanges = new AtomicInteger();
+        coalescer.execute("key", () -> {
+            exchanges.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException());
+        });
+        Assertions.assertEquals(1, exchanges.get());
+    }
+
+    @Test
+    void cancelBeforeCompletion() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<HttpResponse<?>> exchange = new CompletableFuture<>();
+        CompletableFuture<RequestCoalescer.Shared> first = coalescer.execute("key", () -> exchange);
+        CompletableFuture<RequestCoalescer.Shared> cancelled = coalescer.execute("key", () -> Assertions.fail("joins the exchange in flight"));
+        CompletableFuture<RequestCoalescer.Shared> third = coalescer.execute("key", () -> Assertions.fail("joins the exchange in flight"));
+        Assertions.assertTrue(cancelled.cancel(true));
+
+        ByteBuf content = Unpooled.copiedBuffer("foo", StandardCharsets.UTF_8);
+        exchange.complete(response(new AvailableNettyByteBody(content)));
+        Assertions.assertEquals("foo", read(first.get(10, TimeUnit.SECONDS)));
+        Assertions.assertEquals("foo", read(third.get(10, TimeUnit.SECONDS)));
+        // the view of the cancelled participant was released with the others
+        Assertions.assertEquals(0, content.refCnt());
+    }
+
+    @Test
+    void largeBodyIsNotShared() throws Exception {
+        int length = 4 * 1024 * 1024;
+        RequestCoalescer coalescer = new RequestCoalescer(1024);
+        CompletableFuture<HttpResponse<?>> exchange = new CompletableFuture<>();
+        AtomicInteger ownExchanges = new AtomicInteger();
+        CompletableFuture<RequestCoalescer.Shared> reader = coalescer.execute("key", () -> exchange);
+        CompletableFuture<RequestCoalescer.Shared> idle = coalescer.execute("key", () -> {
+            ownExchanges.incrementAndGet();
+            return CompletableFuture.completedFuture(response(streamed(length)));
+        });
+
+        // far larger than the flow control window, and of unknown length
+        exchange.complete(response(streamed(length)));
+        // the reader does not wait for the participant that never reads
+        RequestCoalescer.Shared shared = reader.get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(length, CompletableFuture.supplyAsync(() -> {
+            try {
+                return read(shared).length();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor).get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, ownExchanges.get());
+        idle.get(10, TimeUnit.SECONDS).body().close();
+    }
+
+    @Test
+    void knownLengthOverLimitIsNotShared() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(2);
+        CompletableFuture<HttpResponse<?>> exchange = new CompletableFuture<>();
+        CompletableFuture<RequestCoalescer.Shared> first = coalescer.execute("key", () -> exchange);
+        CompletableFuture<RequestCoalescer.Shared> second = coalescer.execute("key", () ->
+            CompletableFuture.completedFuture(response(new AvailableNettyByteBody(Unpooled.copiedBuffer("bar", StandardCharsets.UTF_8)))));
+
+        exchange.complete(response(new AvailableNettyByteBody(Unpooled.copiedBuffer("foo", StandardCharsets.UTF_8))));
+        Assertions.assertEquals("foo", read(first.get(10, TimeUnit.SECONDS)));
+        // sent its own request
+        Assertions.assertEquals("bar", read(second.get(10, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void oboTokenIsPartOfKey() {
+        io.micronaut.http.MutableHttpRequest<?> a = io.micronaut.http.HttpRequest.GET("/foo").header("opc-obo-token", "a");
+        io.micronaut.http.MutableHttpRequest<?> b = io.micronaut.http.HttpRequest.GET("/foo").header("opc-obo-token", "b");
+        Assertions.assertNotEquals(RequestCoalescer.key("/foo", a.getHeaders()), RequestCoalescer.key("/foo", b.getHeaders()));
+    }
+}
@@ -9,9 +9,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -39,7 +41,7 @@ class StreamReadingHandlerTest {
     @Test
     public void simple() throws Throwable {
         EmbeddedChannel channel = new EmbeddedChannel();
-        StreamReadingHandler handler = new StreamReadingHandler(channel.alloc());
+        StreamReadingHandler handler = new StreamReadingHandler();
         AtomicBoolean released = new AtomicBoolean();
         DecidedBodyHandler.HandlerImpl handlerImpl = handler.new HandlerImpl(() -> released.set(true));
         channel.pipeline().addLast(handlerImpl);
@@ -65,7 +67,7 @@ class StreamReadingHandlerTest {
     @Test
     public void blocking() throws Throwable {
         EmbeddedChannel channel = new EmbeddedChannel();
-        StreamReadingHandler handler = new StreamReadingHandler(channel.alloc());
+        StreamReadingHandler handler = new StreamReadingHandler();
         AtomicBoolean released = new AtomicBoolean();
         DecidedBodyHandler.HandlerImpl handlerImpl = handler.new HandlerImpl(() -> released.set(true));
         channel.pipeline().addLast(handlerImpl);
@@ -103,7 +105,7 @@ class StreamReadingHandlerTest {
     @Test
     public void fullyBuffered() throws Throwable {
         EmbeddedChannel channel = new EmbeddedChannel();
-        StreamReadingHandler handler = new StreamReadingHandler(channel.alloc());
+        StreamReadingHandler handler = new StreamReadingHandler();
         AtomicBoolean released = new AtomicBoolean();
         DecidedBodyHandler.HandlerImpl handlerImpl = handler.new HandlerImpl(() -> released.set(true));
         channel.pipeline().addLast(handlerImpl);
@@ -120,10 +122,64 @@ class StreamReadingHandlerTest {
         Assertions.assertEquals(-1, stream.read(buffer));
     }
 
+    @Test
+    public void singleBytes() throws Throwable {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        StreamReadingHandler handler = new StreamReadingHandler();
+        DecidedBodyHandler.HandlerImpl handlerImpl = handler.new HandlerImpl(() -> {});
+        channel.pipeline().addLast(handlerImpl);
+        InputStream stream = handler.getInputStream();
+
+        channel.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer(new byte[] {1, (byte) 0xff})));
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer(new byte[] {2})));
+        Assertions.assertEquals(1, stream.read());
+        Assertions.assertEquals(0xff, stream.read());
+        Assertions.assertEquals(1, stream.available());
+        Assertions.assertEquals(2, stream.read());
+        Assertions.assertEquals(-1, stream.read());
+    }
+
+    @Test
+    public void transferToStream() throws Throwable {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        StreamReadingHandler handler = new StreamReadingHandler();
+        AtomicBoolean released = new AtomicBoolean();
+        DecidedBodyHandler.HandlerImpl handlerImpl = handler.new HandlerImpl(() -> released.set(true));
+        channel.pipeline().addLast(handlerImpl);
+        InputStream stream = handler.getInputStream();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Future<Long> future = executor.submit(() -> stream.transferTo(out));
+
+        channel.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer("foo".getBytes(StandardCharsets.UTF_8))));
+        channel.writeInbound(new DefaultHttpContent(Unpooled.directBuffer().writeBytes("bar".getBytes(StandardCharsets.UTF_8))));
+        channel.writeInbound(new DefaultLastHttpContent());
+
+        Assertions.assertEquals(6, future.get());
+        Assertions.assertEquals("foobar", out.toString(StandardCharsets.UTF_8));
+        Assertions.assertTrue(released.get());
+    }
+
+    @Test
+    public void transferToChannel() throws Throwable {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        StreamReadingHandler handler = new StreamReadingHandler();
+        DecidedBodyHandler.HandlerImpl handlerImpl = handler.new HandlerImpl(() -> {});
+        channel.pipeline().addLast(handlerImpl);
+        handler.getInputStream();
+
+        channel.writeInbound(new DefaultHttpContent(Unpooled.directBuffer().writeBytes("foo".getBytes(StandardCharsets.UTF_8))));
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer("bar".getBytes(StandardCharsets.UTF_8))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assertions.assertEquals(6, handler.transferTo(Channels.newChannel(out)));
+        Assertions.assertEquals("foobar", out.toString(StandardCharsets.UTF_8));
+    }
+
     @Test
     public void failure() throws Throwable {
         EmbeddedChannel channel = new EmbeddedChannel();
-        StreamReadingHandler handler = new StreamReadingHandler(channel.alloc());
+        StreamReadingHandler handler = new StreamReadingHandler();
         AtomicBoolean released = new AtomicBoolean();
         DecidedBodyHandler.HandlerImpl handlerImpl = handler.new HandlerImpl(() -> released.set(true));
         channel.pipeline().addLast(handlerImpl);
@@ -0,0 +1,78 @@
+package io.micronaut.oraclecloud.httpclient.netty;
+
+import com.oracle.bmc.http.client.HttpClient;
+import com.oracle.bmc.http.client.HttpClientBuilder;
+import com.oracle.bmc.http.client.HttpResponse;
+import com.oracle.bmc.http.client.Method;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the client tests with {@link NettyClientProperties#STREAMING_JSON_RESPONSE} enabled.
+ */
+public class StreamingJsonUnmanagedTest extends NettyUnmanagedTest {
+    @Override
+    protected HttpClientBuilder newBuilder() {
+        return super.newBuilder().property(NettyClientProperties.STREAMING_JSON_RESPONSE, true);
+    }
+
+    @Test
+    void parseBeforeBodyIsComplete() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            DefaultHttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+            response.headers().add(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+            response.headers().add(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+            ctx.write(response);
+            // malformed prefix, the rest of the body is never sent
+            ctx.writeAndFlush(new DefaultHttpContent(Unpooled.wrappedBuffer("[1,}".getBytes(StandardCharsets.UTF_8))));
+        });
+
+        try (HttpClient client = newBuilder().build();
+             HttpResponse response = client.createRequest(Method.GET)
+                 .appendPathPart("foo")
+                 .execute().toCompletableFuture()
+                 .get()) {
+            CompletableFuture<List<Integer>> body = response.listBody(Integer.class).toCompletableFuture();
+            // a buffering parser would wait for the end of the body, until the server times out
+            Assertions.assertThrows(ExecutionException.class, () -> body.get(2, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void parseDelayedChunks() throws Exception {
+        netty.handleOneRequest((ctx, request) -> {
+            DefaultHttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+            response.headers().add(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+            response.headers().add(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+            ctx.write(response);
+            ctx.writeAndFlush(new DefaultHttpContent(Unpooled.wrappedBuffer("[1,2".getBytes(StandardCharsets.UTF_8))));
+            ctx.executor().schedule(
+                () -> ctx.writeAndFlush(new DefaultLastHttpContent(Unpooled.wrappedBuffer(",3]".getBytes(StandardCharsets.UTF_8)))),
+                500, TimeUnit.MILLISECONDS);
+        });
+
+        try (HttpClient client = newBuilder().build();
+             HttpResponse response = client.createRequest(Method.GET)
+                 .appendPathPart("foo")
+                 .execute().toCompletableFuture()
+                 .get()) {
+            CompletableFuture<List<Integer>> body = response.listBody(Integer.class).toCompletableFuture();
+            Assertions.assertFalse(body.isDone());
+            Assertions.assertEquals(List.of(1, 2, 3), body.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
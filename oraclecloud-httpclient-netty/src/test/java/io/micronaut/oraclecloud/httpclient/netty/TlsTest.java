@@ -1,7 +1,16 @@
 package io.micronaut.oraclecloud.httpclient.netty;
 
 import com.oracle.bmc.http.client.HttpClient;
+import com.oracle.bmc.http.client.HttpProvider;
+import com.oracle.bmc.http.client.HttpResponse;
 import com.oracle.bmc.http.client.Method;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpVersion;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.runtime.server.EmbeddedServer;
 import io.netty.resolver.AddressResolver;
 import io.netty.resolver.AddressResolverGroup;
 import io.netty.resolver.InetNameResolver;
@@ -15,12 +24,21 @@ import javax.net.ssl.SSLHandshakeException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class TlsTest {
+    private static final int CONCURRENT_REQUESTS = 5;
+
     @Test
     public void badSsl() {
         for (String uri : Arrays.asList(
@@ -61,6 +79,59 @@ public class TlsTest {
         }
     }
 
+    @Test
+    public void http2() throws Exception {
+        try (ApplicationContext ctx = ApplicationContext.run(Map.ofEntries(
+            Map.entry("spec.name", "TlsTest"),
+            Map.entry("micronaut.ssl.enabled", "true"),
+            Map.entry("micronaut.server.ssl.port", "-1"),
+            Map.entry("micronaut.server.ssl.build-self-signed", "true"),
+            Map.entry("micronaut.server.http-version", "2.0"),
+            Map.entry("micronaut.http.services.oci.ssl.enabled", "true"),
+            Map.entry("micronaut.http.services.oci.ssl.insecure-trust-all-certificates", "true"),
+            Map.entry(OciNettyConfiguration.PREFIX + ".http2", "true")
+        ));
+             EmbeddedServer embeddedServer = ctx.getBean(EmbeddedServer.class)) {
+            embeddedServer.start();
+            Http2Controller controller = ctx.getBean(Http2Controller.class);
+
+            try (HttpClient client = ctx.getBean(HttpProvider.class).newBuilder()
+                .baseUri(embeddedServer.getURI())
+                .build()) {
+                List<CompletableFuture<HttpResponse>> responses = new ArrayList<>();
+                for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                    responses.add(client.createRequest(Method.GET).appendPathPart("/version").execute().toCompletableFuture());
+                }
+                for (CompletableFuture<HttpResponse> future : responses) {
+                    try (HttpResponse response = future.get(10, TimeUnit.SECONDS)) {
+                        Assertions.assertEquals(HttpVersion.HTTP_2_0.name(), response.textBody().toCompletableFuture().get());
+                    }
+                }
+            }
+            // all requests were in flight at the same time, multiplexed over one connection
+            Assertions.assertEquals(1, controller.remoteAddresses.size());
+        }
+    }
+
+    @Controller
+    @Requires(property = "spec.name", value = "TlsTest")
+    public static class Http2Controller {
+        final Set<InetSocketAddress> remoteAddresses = ConcurrentHashMap.newKeySet();
+        private final CountDownLatch arrived = new CountDownLatch(CONCURRENT_REQUESTS);
+        private final CompletableFuture<Void> released = new CompletableFuture<>();
+
+        @Get("/version")
+        public CompletableFuture<String> version(HttpRequest<?> request) {
+            remoteAddresses.add(request.getRemoteAddress());
+            arrived.countDown();
+            if (arrived.getCount() == 0) {
+                released.complete(null);
+            }
+            // hold each response until all requests have arrived
+            return released.thenApply(v -> request.getHttpVersion().name());
+        }
+    }
+
     /**
      * AddressResolverGroup that returns a fixed address for a fixed host. The tests use this to make *.example.com
      * resolve to 127.0.0.1
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.monitoring.sdk;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.oraclecloud.httpclient.netty.ConcurrencyLimitFilter;
+import jakarta.inject.Singleton;
+
+/**
+ * Emits the state of the {@link ConcurrencyLimitFilter} per endpoint host.
+ *
+ * @since 4.4.0
+ */
+@Singleton
+@Requires(beans = ConcurrencyLimitFilter.class)
+@Requires(property = MeterRegistryFactory.MICRONAUT_METRICS_ENABLED, notEquals = StringUtils.FALSE, defaultValue = StringUtils.TRUE)
+@Requires(property = SdkMetricsNettyClientFilter.MICRONAUT_METRICS_OCI_SDK_CLIENT_ENABLED, notEquals = StringUtils.FALSE, defaultValue = StringUtils.TRUE)
+public class ConcurrencyLimitMeterBinder implements MeterBinder {
+    private static final String HOST = "host";
+
+    private final ConcurrencyLimitFilter filter;
+
+    public ConcurrencyLimitMeterBinder(ConcurrencyLimitFilter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        filter.addEndpointListener(endpoint -> {
+            Gauge.builder("oci.sdk.concurrency.limit", endpoint, ConcurrencyLimitFilter.Endpoint::limit)
+                .description("current adaptive concurrency limit")
+                .tag(HOST, endpoint.host())
+                .register(registry);
+            Gauge.builder("oci.sdk.concurrency.queued", endpoint, ConcurrencyLimitFilter.Endpoint::queued)
+                .description("requests waiting for the concurrency limit")
+                .tag(HOST, endpoint.host())
+                .register(registry);
+            FunctionCounter.builder("oci.sdk.concurrency.queued.total", endpoint, ConcurrencyLimitFilter.Endpoint::queuedTotal)
+                .description("requests that had to wait for the concurrency limit")
+                .tag(HOST, endpoint.host())
+                .register(registry);
+            FunctionCounter.builder("oci.sdk.concurrency.rejected", endpoint, ConcurrencyLimitFilter.Endpoint::rejectedTotal)
+                .description("requests rejected by the concurrency limit")
+                .tag(HOST, endpoint.host())
+                .register(registry);
+        });
+    }
+}
@@ -31,8 +31,13 @@ import jakarta.inject.Singleton;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.CLASS_AND_METHOD_KEY_NAME;
+import static io.micronaut.oraclecloud.httpclient.netty.NettyClientProperties.INTERCEPTOR_NANOS_KEY_NAME;
 
 /**
  * The SdkMetricsNettyClientFilter will emit oci sdk client metrics.
@@ -54,8 +59,23 @@ public class SdkMetricsNettyClientFilter implements OciNettyClientFilter<Timer.S
     private static final String CLASS_NAME = "class_and_method";
 
     private static final String METRICS_NAME = "oci.sdk.client";
+    private static final String ACTIVE_METRICS_NAME = "oci.sdk.requests.active";
+    private static final String INTERCEPTOR_METRICS_NAME = "oci.sdk.interceptors";
 
     private final Provider<MeterRegistry> meterRegistryProvider;
+    /**
+     * Requests in flight per host. With HTTP/2, this is the number of concurrent streams to
+     * that endpoint.
+     */
+    private final Map<String, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+    /**
+     * Interceptor timers by host and class and method.
+     */
+    private final Map<List<String>, Timer> interceptorTimers = new ConcurrentHashMap<>();
+    /**
+     * Request timers by their tag values.
+     */
+    private final Map<List<String>, Timer> requestTimers = new ConcurrentHashMap<>();
 
     public SdkMetricsNettyClientFilter(Provider<MeterRegistry> meterRegistryProvider) {
         this.meterRegistryProvider = meterRegistryProvider;
@@ -63,43 +83,87 @@ public class SdkMetricsNettyClientFilter implements OciNettyClientFilter<Timer.S
 
     @Override
     public Timer.Sample beforeRequest(@NonNull HttpRequest request) {
+        String host = request.uri().getHost();
+        activeRequests(host).incrementAndGet();
+        if (request.attribute(INTERCEPTOR_NANOS_KEY_NAME) instanceof Long interceptorNanos) {
+            Timer timer = interceptorTimers.computeIfAbsent(List.of(host, classAndMethod(request)), k -> Timer.builder(INTERCEPTOR_METRICS_NAME)
+                .description("time spent in the request interceptors, such as signing, of oci sdk client requests")
+                .tags(List.of(Tag.of(HOST, k.get(0)), Tag.of(CLASS_NAME, k.get(1))))
+                .register(meterRegistryProvider.get()));
+            timer.record(interceptorNanos, TimeUnit.NANOSECONDS);
+        }
         return Timer.start(meterRegistryProvider.get());
     }
 
     @Override
     public HttpResponse afterResponse(@NonNull HttpRequest request, @Nullable HttpResponse response, @Nullable Throwable throwable, @NonNull Timer.Sample timerSample) {
 
-        List<Tag> tags = new ArrayList<>(4);
-
-        tags.add(Tag.of(HOST, request.uri().getHost()));
-        tags.add(Tag.of(METHOD, request.method().name()));
-        tags.add(Tag.of(CLASS_NAME, (String) request.attribute(CLASS_AND_METHOD_KEY_NAME)));
-
-        tags.add(exception(throwable));
+        String host = request.uri().getHost();
+        activeRequests(host).decrementAndGet();
 
+        List<String> key = new ArrayList<>(5);
+        key.add(host);
+        key.add(request.method().name());
+        key.add(classAndMethod(request));
+        key.add(exception(throwable));
         if (response != null) {
-            tags.add(Tag.of(STATUS, String.valueOf(response.status())));
+            key.add(String.valueOf(response.status()));
         }
 
-        final Timer timer = Timer.builder(METRICS_NAME)
-            .description("oci sdk client metrics")
-            .tags(tags)
-            .register(meterRegistryProvider.get());
+        final Timer timer = requestTimers.computeIfAbsent(key, k -> {
+            List<Tag> tags = new ArrayList<>(5);
+            tags.add(Tag.of(HOST, k.get(0)));
+            tags.add(Tag.of(METHOD, k.get(1)));
+            tags.add(Tag.of(CLASS_NAME, k.get(2)));
+            tags.add(Tag.of(EXCEPTION, k.get(3)));
+            if (k.size() > 4) {
+                tags.add(Tag.of(STATUS, k.get(4)));
+            }
+            return Timer.builder(METRICS_NAME)
+                .description("oci sdk client metrics")
+                .tags(tags)
+                .register(meterRegistryProvider.get());
+        });
         timerSample.stop(timer);
         return response;
     }
 
     /**
-     * Get a tag with the throwable.
+     * Get the gauge value of the requests in flight to the given host.
+     *
+     * @param host the request host
+     * @return the gauge value
+     */
+    private AtomicInteger activeRequests(String host) {
+        return activeRequests.computeIfAbsent(host, h -> meterRegistryProvider.get().gauge(
+            ACTIVE_METRICS_NAME,
+            List.of(Tag.of(HOST, h)),
+            new AtomicInteger()
+        ));
+    }
+
+    /**
+     * Get the class and method that made the request.
+     *
+     * @param request the http request
+     * @return the class and method tag value, or {@code N/A} if attribution is disabled
+     */
+    private static String classAndMethod(HttpRequest request) {
+        Object classAndMethod = request.attribute(CLASS_AND_METHOD_KEY_NAME);
+        return classAndMethod == null ? "N/A" : (String) classAndMethod;
+    }
+
+    /**
+     * Get the exception tag value of the throwable.
      *
      * @param throwable a throwable exception
-     * @return Tag of exception class name
+     * @return the exception class name
      */
-    private static Tag exception(Throwable throwable) {
+    private static String exception(Throwable throwable) {
         if (throwable == null) {
-            return Tag.of(EXCEPTION, "none");
+            return "none";
         }
-        return Tag.of(EXCEPTION, throwable.getClass().getSimpleName());
+        return throwable.getClass().getSimpleName();
     }
 
     @Override
@@ -30,6 +30,7 @@ class OracleCloudSdkMetricsFilterTest extends Specification {
         Monitoring mon = context.getBean(Monitoring.class)
         mon.setEndpoint(embeddedServer.getURL().toString())
         mon.getAlarm(GetAlarmRequest.builder().alarmId("test").build())
+        mon.getAlarm(GetAlarmRequest.builder().alarmId("test").build())
 
         expect:
         context.containsBean(SdkMetricsNettyClientFilter)
@@ -39,6 +40,9 @@ class OracleCloudSdkMetricsFilterTest extends Specification {
         meter.id.getTag("status") == "200"
         meter.id.getTag("exception") == "none"
         meter.id.getTag("class_and_method") == "MonitoringClient.getAlarm"
+        meterRegistry.get("oci.sdk.requests.active").tag("host", "localhost").gauge().value() == 0
+        meterRegistry.get("oci.sdk.interceptors").tag("host", "localhost").tag("class_and_method", "MonitoringClient.getAlarm").timer().count() == 2
+        meterRegistry.get("oci.sdk.client").tag("host", "localhost").tag("status", "200").timer().count() == 2
 
         cleanup:
         embeddedServer.stop()
@@ -49,6 +49,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
@@ -61,6 +62,7 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
@@ -92,6 +94,7 @@ public class OracleCloudSdkProcessor extends AbstractProcessor {
      * Processing environment option used to specify the client classes to process.
      */
     public static final String OCI_SDK_CLIENT_CLASSES_OPTION = "ociSdkClientClasses";
+    private static final ClassName SDK_CALL_CANCELLATION = ClassName.get("io.micronaut.oraclecloud.httpclient.netty", "SdkCallCancellation");
     private Filer filer;
     private Messager messager;
     private Elements elements;
@@ -214,9 +217,16 @@ public class OracleCloudSdkProcessor extends AbstractProcessor {
 
                                         methodBuilder.addCode(CodeBlock.builder()
                                                 .addStatement("return $T.create((emitter) -> {", rxSingleType)
-                                                .add("this.client." + methodName + "(" + parameterName + ",")
+                                                .addStatement("$T cancellation = new $T()", SDK_CALL_CANCELLATION, SDK_CALL_CANCELLATION)
+                                                .add("$T<" + responseType + "> future = cancellation.run(() -> this.client." + methodName + "(" + parameterName + ",", Future.class)
                                                 .add("new $T<" + requestType + "," + responseType + ">(emitter)", ClassName.get("io.micronaut.oraclecloud.clients.rxjava2", "AsyncHandlerEmitter"))
-                                                .addStatement(")")
+                                                .addStatement("))")
+                                                // propagate disposal to the SDK call and to its HTTP requests, which
+                                                // do not see the cancellation of the SDK future
+                                                .addStatement("emitter.setCancellable(() -> {")
+                                                .addStatement("future.cancel(true)")
+                                                .addStatement("cancellation.cancel()")
+                                                .addStatement("})")
                                                 .addStatement("})")
                                         .build());
                                         builder.addMethod(methodBuilder.build());
@@ -253,6 +263,7 @@ public class OracleCloudSdkProcessor extends AbstractProcessor {
 
             ClassName clientType = ClassName.get(packageName, simpleName);
             ClassName rxSingleType = ClassName.get("reactor.core.publisher", "Mono");
+            ClassName fluxType = ClassName.get("reactor.core.publisher", "Flux");
             final ClassName authProviderType = ClassName.get("com.oracle.bmc.auth", "AbstractAuthenticationDetailsProvider");
             final AnnotationSpec.Builder requiresSpec =
                     AnnotationSpec.builder(Requires.class)
@@ -321,13 +332,34 @@ public class OracleCloudSdkProcessor extends AbstractProcessor {
 
                                         methodBuilder.addCode(CodeBlock.builder()
                                                                       .addStatement("return $T.create((sink) -> {", rxSingleType)
-                                                                      .add("this.client." + methodName + "(" + parameterName + ",")
+                                                                      .addStatement("$T cancellation = new $T()", SDK_CALL_CANCELLATION, SDK_CALL_CANCELLATION)
+                                                                      .add("$T<" + responseType + "> future = cancellation.run(() -> this.client." + methodName + "(" + parameterName + ",", Future.class)
                                                                       .add("new $T<" + requestType + "," + responseType + ">(sink)", ClassName.get("io.micronaut.oraclecloud.clients.reactor", "AsyncHandlerSink"))
-                                                                      .addStatement(")")
+                                                                      .addStatement("))")
+                                                                      // propagate cancellation to the SDK call and to its HTTP requests, which
+                                                                      // do not see the cancellation of the SDK future
+                                                                      .addStatement("sink.onCancel(() -> {")
+                                                                      .addStatement("future.cancel(true)")
+                                                                      .addStatement("cancellation.cancel()")
+                                                                      .addStatement("})")
                                                                       .addStatement("})")
                                                                       .build());
                                         builder.addMethod(methodBuilder.build());
 
+                                        if (isPaginated(methodName, variableElement.asType(), m)) {
+                                            builder.addMethod(MethodSpec.methodBuilder(methodName + "Pages")
+                                                    .addJavadoc("Lazily fetch all pages of {@link #$L}, following the {@code opc-next-page} header. The next page\n", methodName)
+                                                    .addJavadoc("is only requested when there is downstream demand for it.\n")
+                                                    .addModifiers(Modifier.PUBLIC)
+                                                    .addParameter(requestType, parameterName)
+                                                    .returns(ParameterizedTypeName.get(fluxType, responseType))
+                                                    .addStatement(
+                                                            "return this.$L($L).expand(response -> response.getOpcNextPage() == null ? $T.empty() : this.$L($T.builder().copy($L).page(response.getOpcNextPage()).build()))",
+                                                            methodName, parameterName, rxSingleType, methodName, requestType, parameterName
+                                                    )
+                                                    .build());
+                                        }
+
                                     }
                                 }
                             }
@@ -349,6 +381,31 @@ public class OracleCloudSdkProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * Whether the given operation is a list operation that supports pagination, i.e. the request
+     * has a {@code page} and the response has an {@code opcNextPage} property.
+     */
+    private boolean isPaginated(String methodName, TypeMirror requestType, TypeMirror responseType) {
+        return methodName.startsWith("list") &&
+                hasGetter(requestType, "getPage") &&
+                hasGetter(responseType, "getOpcNextPage");
+    }
+
+    private boolean hasGetter(TypeMirror type, String name) {
+        Element element = types.asElement(type);
+        if (!(element instanceof TypeElement)) {
+            return false;
+        }
+        for (Element member : elements.getAllMembers((TypeElement) element)) {
+            if (member.getKind() == ElementKind.METHOD &&
+                    member.getSimpleName().contentEquals(name) &&
+                    ((ExecutableElement) member).getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String writeClientFactory(Element e, String packageName, String simpleName) {
         final String factoryName = simpleName + "Factory";
         final String factoryPackageName = packageName.replace("com.oracle.bmc", CLIENT_PACKAGE);
@@ -11,7 +11,9 @@ import com.oracle.bmc.auth.AuthCachingPolicy;
 import com.oracle.bmc.auth.BasicAuthenticationDetailsProvider;
 import com.oracle.bmc.objectstorage.ObjectStorageAsyncClient;
 import com.oracle.bmc.objectstorage.model.BucketSummary;
+import com.oracle.bmc.objectstorage.requests.GetNamespaceRequest;
 import com.oracle.bmc.objectstorage.requests.ListBucketsRequest;
+import com.oracle.bmc.objectstorage.responses.GetNamespaceResponse;
 import com.oracle.bmc.objectstorage.responses.ListBucketsResponse;
 import com.oracle.bmc.responses.AsyncHandler;
 import io.micronaut.context.annotation.Bean;
@@ -19,12 +21,16 @@ import io.micronaut.context.annotation.Replaces;
 import io.micronaut.oraclecloud.clients.reactor.objectstorage.ObjectStorageReactorClient;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @MicronautTest
 public class ObjectStorageReactorClientTest {
 
+    private static final CompletableFuture<GetNamespaceResponse> PENDING_NAMESPACE = new CompletableFuture<>();
+
     @Test
     void testObjectStorageClientRx(ObjectStorageReactorClient objectStorageRxClient) {
         ListBucketsRequest listBucketsRequest = ListBucketsRequest.builder()
@@ -40,6 +46,32 @@ public class ObjectStorageReactorClientTest {
         assertEquals(Arrays.asList("b1", "b2"), names);
     }
 
+    @Test
+    void testObjectStorageClientPages(ObjectStorageReactorClient objectStorageRxClient) {
+        ListBucketsRequest listBucketsRequest = ListBucketsRequest.builder()
+                .namespaceName("kg")
+                .compartmentId("paged")
+                .build();
+        final List<String> names = objectStorageRxClient
+                .listBucketsPages(listBucketsRequest)
+                .flatMapIterable(ListBucketsResponse::getItems)
+                .map(BucketSummary::getName)
+                .collectList()
+                .block();
+
+        assertEquals(Arrays.asList("b1", "b2", "b3"), names);
+    }
+
+    @Test
+    void testObjectStorageClientCancel(ObjectStorageReactorClient objectStorageRxClient) {
+        Disposable disposable = objectStorageRxClient
+                .getNamespace(GetNamespaceRequest.builder().build())
+                .subscribe();
+        disposable.dispose();
+
+        assertTrue(PENDING_NAMESPACE.isCancelled());
+    }
+
     @Bean
     @Replaces(BasicAuthenticationDetailsProvider.class)
     MockAuth authenticationDetailsProvider() {
@@ -53,18 +85,39 @@ public class ObjectStorageReactorClientTest {
             @Override
             public Future<ListBucketsResponse> listBuckets(ListBucketsRequest request,
                                                            AsyncHandler<ListBucketsRequest, ListBucketsResponse> handler) {
-                final ListBucketsResponse response = ListBucketsResponse.builder()
-                        .items(Arrays.asList(
-                                BucketSummary.builder().name("b1").build(),
-                                BucketSummary.builder().name("b2").build()
-                        ))
-                        .build();
+                final ListBucketsResponse response;
+                if (!request.getCompartmentId().equals("paged")) {
+                    response = ListBucketsResponse.builder()
+                            .items(Arrays.asList(
+                                    BucketSummary.builder().name("b1").build(),
+                                    BucketSummary.builder().name("b2").build()
+                            ))
+                            .build();
+                } else if (request.getPage() == null) {
+                    response = ListBucketsResponse.builder()
+                            .items(Arrays.asList(
+                                    BucketSummary.builder().name("b1").build(),
+                                    BucketSummary.builder().name("b2").build()
+                            ))
+                            .opcNextPage("2")
+                            .build();
+                } else {
+                    response = ListBucketsResponse.builder()
+                            .items(List.of(BucketSummary.builder().name("b3").build()))
+                            .build();
+                }
                 handler.onSuccess(
                         request,
                         response
                 );
                 return CompletableFuture.completedFuture(response);
             }
+
+            @Override
+            public Future<GetNamespaceResponse> getNamespace(GetNamespaceRequest request,
+                                                             AsyncHandler<GetNamespaceRequest, GetNamespaceResponse> handler) {
+                return PENDING_NAMESPACE;
+            }
         };
     }
 
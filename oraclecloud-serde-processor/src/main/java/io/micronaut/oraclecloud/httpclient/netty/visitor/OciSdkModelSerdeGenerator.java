@@ -0,0 +1,524 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.oraclecloud.httpclient.netty.visitor;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.reflect.ClassUtils;
+import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.ElementQuery;
+import io.micronaut.inject.ast.FieldElement;
+import io.micronaut.inject.ast.MethodElement;
+import io.micronaut.inject.visitor.VisitorContext;
+import io.micronaut.inject.writer.GeneratedFile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates a specialized {@code Serde} for an OCI SDK model or enum, so that it does not go
+ * through the generic introspection based (de)serializers.
+ * <br/>
+ * The generated serializer writes each property that is non-null or explicitly set, without the
+ * {@code ExplicitlySetPropertyFilter} callback. The generated deserializer fills the model
+ * builder, which records the explicitly set properties in the {@code __explicitlySet__} set of
+ * the model. Like the introspection based serializers, the serde resolves the (de)serializer of
+ * each property only once, on first use.
+ * <br/>
+ * Only plain models are supported: public final classes with a public builder, and properties
+ * that have no Jackson annotations besides {@code @JsonProperty}. Polymorphic models and any
+ * model with unsupported features keep using the introspection.
+ * <br/>
+ * For {@code BmcEnum}s, the generated serializer writes the {@code @JsonValue} of each constant
+ * from a table indexed by ordinal, instead of invoking the value method through the
+ * introspection for every value. The generated deserializer finds known values in a
+ * collision-free hash table with a single {@code equals}, and only calls the {@code create}
+ * factory for unknown values. JSON {@code null} is decoded as {@code null}.
+ *
+ * @since 4.4.0
+ */
+@Internal
+final class OciSdkModelSerdeGenerator {
+    static final String SERDE_SUFFIX = "$Serde";
+
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_FILTER = "com.fasterxml.jackson.annotation.JsonFilter";
+    private static final String JSON_DESERIALIZE = "com.fasterxml.jackson.databind.annotation.JsonDeserialize";
+    private static final String JSON_POJO_BUILDER = "com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder";
+    private static final String JSON_VALUE = "com.fasterxml.jackson.annotation.JsonValue";
+    private static final String ENUM_VALUE_METHOD = "getValue";
+    private static final String ENUM_CREATOR_METHOD = "create";
+    /**
+     * Upper bound for the decoding table of an enum. Enums whose values still collide at this
+     * size only use the {@code create} factory.
+     */
+    private static final int MAX_ENUM_TABLE_LENGTH = 1 << 16;
+    private static final ClassName ARGUMENT = ClassName.get("io.micronaut.core.type", "Argument");
+    private static final ClassName GENERATED = ClassName.get("io.micronaut.core.annotation", "Generated");
+    private static final ClassName INTROSPECTED = ClassName.get("io.micronaut.core.annotation", "Introspected");
+    private static final ClassName DECODER = ClassName.get("io.micronaut.serde", "Decoder");
+    private static final ClassName DESERIALIZER = ClassName.get("io.micronaut.serde", "Deserializer");
+    private static final ClassName DECODER_CONTEXT = DESERIALIZER.nestedClass("DecoderContext");
+    private static final ClassName ENCODER = ClassName.get("io.micronaut.serde", "Encoder");
+    private static final ClassName SERIALIZER = ClassName.get("io.micronaut.serde", "Serializer");
+    private static final ClassName ENCODER_CONTEXT = SERIALIZER.nestedClass("EncoderContext");
+    private static final ClassName SERDE = ClassName.get("io.micronaut.serde", "Serde");
+    private static final ClassName ATOMIC_REFERENCE_ARRAY = ClassName.get(AtomicReferenceArray.class);
+    private static final String[] POLYMORPHIC_ANNOTATIONS = {
+        "com.fasterxml.jackson.annotation.JsonTypeInfo",
+        "com.fasterxml.jackson.annotation.JsonSubTypes",
+        "com.fasterxml.jackson.annotation.JsonTypeName"
+    };
+
+    private OciSdkModelSerdeGenerator() {
+    }
+
+    /**
+     * Generate the serde for the given model.
+     *
+     * @param model   The model
+     * @param context The visitor context
+     * @param targetPackage The package of the generated class
+     * @return The fully qualified name of the generated class, or empty if the model is not supported
+     */
+    static Optional<String> generate(ClassElement model, VisitorContext context, String targetPackage) {
+        List<Property> properties = properties(model, context);
+        if (properties == null) {
+            return Optional.empty();
+        }
+        String simpleName = simpleName(model);
+        return write(model, context, targetPackage, source(model, simpleName, properties));
+    }
+
+    /**
+     * Generate the serde for the given enum.
+     *
+     * @param bmcEnum       The enum
+     * @param context       The visitor context
+     * @param targetPackage The package of the generated class
+     * @return The fully qualified name of the generated class, or empty if the enum is not supported
+     */
+    static Optional<String> generateEnum(ClassElement bmcEnum, VisitorContext context, String targetPackage) {
+        if (!bmcEnum.isPublic() || !isAccessible(bmcEnum)) {
+            return Optional.empty();
+        }
+        Optional<MethodElement> valueMethod = bmcEnum.getEnclosedElement(ElementQuery.ALL_METHODS.onlyInstance().onlyAccessible().named(ENUM_VALUE_METHOD));
+        if (valueMethod.isEmpty() || !valueMethod.get().isPublic() || valueMethod.get().getParameters().length != 0
+            || !valueMethod.get().hasAnnotation(JSON_VALUE)
+            || !valueMethod.get().getReturnType().getName().equals(String.class.getName())) {
+            return Optional.empty();
+        }
+        String simpleName = simpleName(bmcEnum);
+        return write(bmcEnum, context, targetPackage, enumSource(bmcEnum, simpleName, hasEnumCreator(bmcEnum)));
+    }
+
+    /**
+     * Whether the enum serde generated by {@link #generateEnum} is also a deserializer. This
+     * requires the {@code create(String)} factory of the SDK enums, which is called for unknown
+     * values.
+     *
+     * @param bmcEnum The enum
+     * @return {@code true} if the enum has a public {@code create(String)} factory
+     */
+    static boolean hasEnumCreator(ClassElement bmcEnum) {
+        return bmcEnum.getEnclosedElements(ElementQuery.ALL_METHODS.onlyStatic().onlyAccessible().named(ENUM_CREATOR_METHOD)).stream()
+            .anyMatch(m -> m.isPublic()
+                && m.getParameters().length == 1
+                && m.getParameters()[0].getType().getName().equals(String.class.getName())
+                && m.getReturnType().getName().equals(bmcEnum.getName()));
+    }
+
+    private static String simpleName(ClassElement element) {
+        return "$" + element.getName().substring(element.getPackageName().length() + 1) + SERDE_SUFFIX;
+    }
+
+    private static Optional<String> write(ClassElement element, VisitorContext context, String targetPackage, TypeSpec type) {
+        Optional<GeneratedFile> file = context.visitGeneratedSourceFile(targetPackage, type.name, element);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        try (Writer writer = file.get().openWriter()) {
+            JavaFile.builder(targetPackage, type).build().writeTo(writer);
+        } catch (IOException e) {
+            context.warn("Failed to generate serde for OCI SDK type: " + e.getMessage(), element);
+            return Optional.empty();
+        }
+        return Optional.of(targetPackage + "." + type.name);
+    }
+
+    /**
+     * Collect the properties of the given model.
+     *
+     * @return The properties, or {@code null} if the model is not supported
+     */
+    @Nullable
+    private static List<Property> properties(ClassElement model, VisitorContext context) {
+        if (!model.isPublic() || !model.isFinal() || model.isAbstract() || !isAccessible(model)) {
+            return null;
+        }
+        for (String annotation : POLYMORPHIC_ANNOTATIONS) {
+            if (model.hasAnnotation(annotation)) {
+                return null;
+            }
+        }
+        for (String annotation : model.getAnnotationNames()) {
+            if (annotation.startsWith(JACKSON_PACKAGE) && !annotation.equals(JSON_FILTER) && !annotation.equals(JSON_DESERIALIZE)) {
+                // e.g. @JsonIgnoreProperties or @JsonInclude change the property handling
+                return null;
+            }
+        }
+        Optional<String> builderName = model.stringValue(JSON_DESERIALIZE, "builder");
+        if (builderName.isEmpty()) {
+            return null;
+        }
+        Optional<ClassElement> builder = context.getClassElement(builderName.get());
+        if (builder.isEmpty() || !builder.get().isPublic() || !builder.get().hasAnnotation(JSON_POJO_BUILDER)
+            || !builder.get().stringValue(JSON_POJO_BUILDER, "withPrefix").orElse("with").isEmpty()) {
+            return null;
+        }
+        Optional<MethodElement> builderFactory = model.getEnclosedElement(ElementQuery.ALL_METHODS.onlyStatic().onlyAccessible().named("builder"));
+        Optional<MethodElement> build = builder.get().getEnclosedElement(ElementQuery.ALL_METHODS.onlyInstance().onlyAccessible().named("build"));
+        if (builderFactory.isEmpty() || builderFactory.get().getParameters().length != 0
+            || !builderFactory.get().getReturnType().getName().equals(builder.get().getName())
+            || build.isEmpty() || build.get().getParameters().length != 0) {
+            return null;
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (FieldElement field : model.getEnclosedElements(ElementQuery.ALL_FIELDS.onlyInstance().onlyDeclared())) {
+            Optional<String> jsonName = field.stringValue(JSON_PROPERTY);
+            if (jsonName.isEmpty()) {
+                continue;
+            }
+            for (String annotation : field.getAnnotationNames()) {
+                if (annotation.startsWith(JACKSON_PACKAGE) && !annotation.equals(JSON_PROPERTY)) {
+                    // e.g. @JsonFormat or @JsonSerialize
+                    return null;
+                }
+            }
+            ClassElement type = field.getGenericType();
+            CodeBlock argument = argument(type);
+            if (argument == null) {
+                return null;
+            }
+            String getterName = NameUtils.getterNameFor(field.getName());
+            Optional<MethodElement> getter = model.getEnclosedElement(ElementQuery.ALL_METHODS.onlyInstance().onlyAccessible().named(getterName));
+            Optional<MethodElement> setter = builder.get().getEnclosedElement(ElementQuery.ALL_METHODS.onlyInstance().onlyAccessible().named(field.getName()));
+            if (getter.isEmpty() || !getter.get().isPublic() || getter.get().getParameters().length != 0
+                || setter.isEmpty() || !setter.get().isPublic() || setter.get().getParameters().length != 1
+                || !setter.get().getParameters()[0].getType().getName().equals(type.getName())) {
+                return null;
+            }
+            properties.add(new Property(jsonName.get(), getterName, field.getName(), rawType(type), argument));
+        }
+        return properties;
+    }
+
+    private static boolean isAccessible(ClassElement model) {
+        Optional<ClassElement> enclosing = model.getEnclosingType();
+        while (enclosing.isPresent()) {
+            if (!enclosing.get().isPublic()) {
+                return false;
+            }
+            enclosing = enclosing.get().getEnclosingType();
+        }
+        return true;
+    }
+
+    /**
+     * Build the {@code Argument} expression for the given type.
+     *
+     * @return The expression, or {@code null} if the type is not supported
+     */
+    @Nullable
+    private static CodeBlock argument(ClassElement type) {
+        if (type.isPrimitive() && !type.isArray() || type.isGenericPlaceholder() || type.isWildcard()) {
+            return null;
+        }
+        Map<String, ClassElement> typeArguments = type.getTypeArguments();
+        CodeBlock.Builder builder = CodeBlock.builder().add("$T.of($T.class", ARGUMENT, rawType(type));
+        if (!type.isArray()) {
+            for (ClassElement typeArgument : typeArguments.values()) {
+                CodeBlock argument = argument(typeArgument);
+                if (argument == null) {
+                    return null;
+                }
+                builder.add(", $L", argument);
+            }
+        }
+        return builder.add(")").build();
+    }
+
+    private static TypeName rawType(ClassElement type) {
+        if (type.isArray()) {
+            return ArrayTypeName.of(rawType(type.fromArray()));
+        }
+        if (type.isPrimitive()) {
+            return TypeName.get(ClassUtils.getPrimitiveType(type.getName()).orElseThrow());
+        }
+        return className(type);
+    }
+
+    private static ClassName className(ClassElement type) {
+        String packageName = type.getPackageName();
+        String[] simpleNames = type.getName().substring(packageName.length() + 1).split("\\$");
+        return ClassName.get(packageName, simpleNames[0], Arrays.copyOfRange(simpleNames, 1, simpleNames.length));
+    }
+
+    private static TypeSpec.Builder serdeClass(String simpleName, TypeName superinterface) {
+        return TypeSpec.classBuilder(simpleName)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addAnnotation(GENERATED)
+            .addAnnotation(INTROSPECTED)
+            .addSuperinterface(superinterface);
+    }
+
+    private static MethodSpec.Builder serializeMethod(TypeName type) {
+        return MethodSpec.methodBuilder("serialize")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(ENCODER, "encoder")
+            .addParameter(ENCODER_CONTEXT, "context")
+            .addParameter(ParameterizedTypeName.get(ARGUMENT, WildcardTypeName.subtypeOf(type)), "type")
+            .addParameter(type, "value")
+            .addException(IOException.class);
+    }
+
+    private static MethodSpec.Builder deserializeMethod(String name, TypeName type) {
+        return MethodSpec.methodBuilder(name)
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(type)
+            .addParameter(DECODER, "decoder")
+            .addParameter(DECODER_CONTEXT, "context")
+            .addParameter(ParameterizedTypeName.get(ARGUMENT, WildcardTypeName.supertypeOf(type)), "type")
+            .addException(IOException.class);
+    }
+
+    private static TypeSpec source(ClassElement model, String simpleName, List<Property> properties) {
+        ClassName modelType = className(model);
+        TypeSpec.Builder type = serdeClass(simpleName, ParameterizedTypeName.get(SERDE, modelType))
+            .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                .addMember("value", "{$S, $S}", "unchecked", "rawtypes")
+                .build());
+        List<FieldSpec> arguments = new ArrayList<>(properties.size());
+        for (int i = 0; i < properties.size(); i++) {
+            FieldSpec argument = FieldSpec.builder(ARGUMENT, "ARG_" + i, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer(properties.get(i).argument)
+                .build();
+            arguments.add(argument);
+            type.addField(argument);
+        }
+        FieldSpec serializers = FieldSpec.builder(ParameterizedTypeName.get(ATOMIC_REFERENCE_ARRAY, SERIALIZER), "serializers", Modifier.PRIVATE, Modifier.FINAL)
+            .addJavadoc("The specific serializer of each property, resolved on first use.\n")
+            .initializer("new $T<>($L)", ATOMIC_REFERENCE_ARRAY, properties.size())
+            .build();
+        FieldSpec deserializers = FieldSpec.builder(ParameterizedTypeName.get(ATOMIC_REFERENCE_ARRAY, DESERIALIZER), "deserializers", Modifier.PRIVATE, Modifier.FINAL)
+            .addJavadoc("The specific deserializer of each property, resolved on first use.\n")
+            .initializer("new $T<>($L)", ATOMIC_REFERENCE_ARRAY, properties.size())
+            .build();
+        type.addField(serializers).addField(deserializers);
+
+        MethodSpec.Builder serialize = serializeMethod(modelType)
+            .addStatement("$T object = encoder.encodeObject(type)", ENCODER);
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            String value = "v" + i;
+            serialize.addStatement("$T $N = value.$N()", Object.class, value, property.getter)
+                .beginControlFlow("if ($N != null)", value)
+                .addStatement("object.encodeKey($S)", property.jsonName)
+                .addStatement("serializer(context, $L, $N).serialize(object, context, $N, $N)", i, arguments.get(i), arguments.get(i), value)
+                .nextControlFlow("else if (value.wasPropertyExplicitlySet($S))", property.jsonName)
+                .addStatement("object.encodeKey($S)", property.jsonName)
+                .addStatement("object.encodeNull()")
+                .endControlFlow();
+        }
+        type.addMethod(serialize.addStatement("object.finishStructure()").build());
+
+        ClassName builderType = modelType.nestedClass("Builder");
+        MethodSpec.Builder deserialize = deserializeMethod("deserialize", modelType)
+            .addStatement("$T object = decoder.decodeObject(type)", DECODER)
+            .addStatement("$T builder = $T.builder()", builderType, modelType)
+            .addStatement("$T key", String.class)
+            .beginControlFlow("while ((key = object.decodeKey()) != null)")
+            .beginControlFlow("switch (key)");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            deserialize.addStatement("case $S -> builder.$N(($T) deserializer(context, $L, $N).deserializeNullable(object, context, $N))",
+                property.jsonName, property.setter, property.rawType, i, arguments.get(i), arguments.get(i));
+        }
+        type.addMethod(deserialize.addStatement("default -> object.skipValue()")
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement("object.finishStructure()")
+            .addStatement("return builder.build()")
+            .build());
+
+        // resolution is idempotent, so concurrent first uses may both resolve
+        type.addMethod(MethodSpec.methodBuilder("serializer")
+            .addModifiers(Modifier.PRIVATE)
+            .returns(SERIALIZER)
+            .addParameter(ENCODER_CONTEXT, "context")
+            .addParameter(int.class, "index")
+            .addParameter(ARGUMENT, "argument")
+            .addException(IOException.class)
+            .addStatement("$T serializer = $N.get(index)", SERIALIZER, serializers)
+            .beginControlFlow("if (serializer == null)")
+            .addStatement("serializer = context.findSerializer(argument).createSpecific(context, argument)")
+            .addStatement("$N.set(index, serializer)", serializers)
+            .endControlFlow()
+            .addStatement("return serializer")
+            .build());
+        type.addMethod(MethodSpec.methodBuilder("deserializer")
+            .addModifiers(Modifier.PRIVATE)
+            .returns(DESERIALIZER)
+            .addParameter(DECODER_CONTEXT, "context")
+            .addParameter(int.class, "index")
+            .addParameter(ARGUMENT, "argument")
+            .addException(IOException.class)
+            .addStatement("$T deserializer = $N.get(index)", DESERIALIZER, deserializers)
+            .beginControlFlow("if (deserializer == null)")
+            .addStatement("deserializer = context.findDeserializer(argument).createSpecific(context, argument)")
+            .addStatement("$N.set(index, deserializer)", deserializers)
+            .endControlFlow()
+            .addStatement("return deserializer")
+            .build());
+        return type.build();
+    }
+
+    private static TypeSpec enumSource(ClassElement bmcEnum, String simpleName, boolean creator) {
+        ClassName enumType = className(bmcEnum);
+        ArrayTypeName arrayType = ArrayTypeName.of(enumType);
+        TypeSpec.Builder type = serdeClass(simpleName, ParameterizedTypeName.get(creator ? SERDE : SERIALIZER, enumType));
+        type.addField(FieldSpec.builder(String[].class, "VALUES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .addJavadoc("The JSON value of each constant, by ordinal.\n")
+            .build());
+        if (creator) {
+            type.addField(FieldSpec.builder(arrayType, "TABLE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Open addressing table of the constants by JSON value, sized so that no two values\n"
+                    + "share a slot. {@code null} if no such size was found.\n")
+                .build());
+        }
+        CodeBlock.Builder init = CodeBlock.builder()
+            .addStatement("$T constants = $T.values()", arrayType, enumType)
+            .addStatement("VALUES = new $T[constants.length]", String.class)
+            .beginControlFlow("for (int i = 0; i < constants.length; i++)")
+            .addStatement("VALUES[i] = constants[i].$N()", ENUM_VALUE_METHOD)
+            .endControlFlow();
+        if (creator) {
+            init.addStatement("TABLE = table(constants)");
+        }
+        type.addStaticBlock(init.build());
+
+        type.addMethod(serializeMethod(enumType)
+            .addStatement("$T json = VALUES[value.ordinal()]", String.class)
+            .beginControlFlow("if (json == null)")
+            .addStatement("encoder.encodeNull()")
+            .nextControlFlow("else")
+            .addStatement("encoder.encodeString(json)")
+            .endControlFlow()
+            .build());
+
+        if (creator) {
+            // like jackson and the introspection, an explicit null stays null, it is not an unknown value
+            type.addMethod(deserializeMethod("deserialize", enumType)
+                .beginControlFlow("if (decoder.decodeNull())")
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("$T json = decoder.decodeString()", String.class)
+                .beginControlFlow("if (TABLE != null)")
+                .addStatement("$T candidate = TABLE[slot(json.hashCode(), TABLE.length)]", enumType)
+                .beginControlFlow("if (candidate != null && VALUES[candidate.ordinal()].equals(json))")
+                .addStatement("return candidate")
+                .endControlFlow()
+                .endControlFlow()
+                .addComment("unknown value, the factory falls back to UnknownEnumValue")
+                .addStatement("return $T.$N(json)", enumType, ENUM_CREATOR_METHOD)
+                .build());
+            type.addMethod(deserializeMethod("deserializeNullable", enumType)
+                .beginControlFlow("if (decoder.decodeNull())")
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("return deserialize(decoder, context, type)")
+                .build());
+            type.addMethod(MethodSpec.methodBuilder("slot")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(int.class)
+                .addParameter(int.class, "hash")
+                .addParameter(int.class, "length")
+                .addStatement("return (hash ^ (hash >>> 16)) & (length - 1)")
+                .build());
+            type.addMethod(MethodSpec.methodBuilder("table")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(arrayType)
+                .addParameter(arrayType, "constants")
+                .beginControlFlow("for (int length = $T.highestOneBit($T.max(constants.length, 1)) << 1; length <= $L; length <<= 1)",
+                    Integer.class, Math.class, MAX_ENUM_TABLE_LENGTH)
+                .addStatement("$T table = new $T[length]", arrayType, enumType)
+                .addStatement("boolean collision = false")
+                .beginControlFlow("for ($T constant : constants)", enumType)
+                .addStatement("$T json = VALUES[constant.ordinal()]", String.class)
+                .beginControlFlow("if (json == null)")
+                .addStatement("continue")
+                .endControlFlow()
+                .addStatement("int slot = slot(json.hashCode(), length)")
+                .beginControlFlow("if (table[slot] == null)")
+                .addStatement("table[slot] = constant")
+                .nextControlFlow("else if (!VALUES[table[slot].ordinal()].equals(json))")
+                .addStatement("collision = true")
+                .addStatement("break")
+                .endControlFlow()
+                .endControlFlow()
+                .beginControlFlow("if (!collision)")
+                .addStatement("return table")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return null")
+                .build());
+        }
+        return type.build();
+    }
+
+    /**
+     * @param jsonName The JSON property name, also used for the explicitly set tracking
+     * @param getter   The getter on the model
+     * @param setter   The setter on the builder
+     * @param rawType  The erased property type, for casts
+     * @param argument The expression of the property {@code Argument}
+     */
+    private record Property(String jsonName, String getter, String setter, TypeName rawType, CodeBlock argument) {
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.micronaut.oraclecloud.httpclient.netty.visitor;
 
+import io.micronaut.core.annotation.AnnotationClassValue;
 import io.micronaut.core.annotation.AnnotationUtil;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.annotation.Internal;
@@ -41,6 +42,9 @@ import java.util.Optional;
  * are written to a separate .introspection package. The introspections need to be used with the
  * oraclecloud-httpclient-netty which defines the explicitly set property filter required for
  * correct serialization.
+ * <br/>
+ * For plain (non-polymorphic) models and for enums, a specialized serde is generated to the same
+ * package, see {@link OciSdkModelSerdeGenerator}. These models do not need the property filter.
  *
  * @author Andriy Dmytruk
  * @since 2.3.2
@@ -75,8 +79,18 @@ public class OciSdkModelSerdeVisitor implements TypeElementVisitor<Object, Objec
             makeSerdeable(element);
             // Ignore the validation because the Deserialize(builder=) is not supported
             ignoreMicronautSerdeValidation(element);
+            OciSdkModelSerdeGenerator.generate(element, context, element.getPackageName() + INTROSPECTION_PACKAGE)
+                .ifPresent(serde -> useSerde(element, serde));
         } else if (visitingOciSdkEnum) {
             makeSerdeable(element);
+            OciSdkModelSerdeGenerator.generateEnum(element, context, element.getPackageName() + INTROSPECTION_PACKAGE)
+                .ifPresent(serde -> {
+                    if (OciSdkModelSerdeGenerator.hasEnumCreator(element)) {
+                        useSerde(element, serde);
+                    } else {
+                        element.annotate(Serdeable.Serializable.class, builder -> builder.member("using", new AnnotationClassValue<>(serde)));
+                    }
+                });
             element.getMethods().stream()
                 .filter(m -> m.getName().equals(OCI_SDK_ENUM_CREATOR_NAME))
                 .findAny()
@@ -127,6 +141,15 @@ public class OciSdkModelSerdeVisitor implements TypeElementVisitor<Object, Objec
         );
     }
 
+    /**
+     * Use the generated serde for the model instead of the introspection based one.
+     */
+    private static void useSerde(ClassElement element, String serde) {
+        AnnotationClassValue<Object> using = new AnnotationClassValue<>(serde);
+        element.annotate(Serdeable.Serializable.class, builder -> builder.member("using", using));
+        element.annotate(Serdeable.Deserializable.class, builder -> builder.member("using", using));
+    }
+
     private void ignoreMicronautSerdeValidation(Element element) {
         element.annotate(
             AnnotationValue.builder(SerdeConfig.class)
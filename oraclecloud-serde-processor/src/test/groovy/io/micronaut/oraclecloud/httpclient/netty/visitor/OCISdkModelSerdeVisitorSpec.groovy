@@ -191,6 +191,132 @@ public class ChildModel extends TestModel {
         notThrown(InstantiationException)
     }
 
+    void "test plain oci sdk model gets a generated serde"() {
+        given:
+        def classLoader = buildClassLoader('test.TestModel', """
+package test;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.oracle.bmc.http.client.internal.ExplicitlySetBmcModel;
+
+import java.util.List;
+import java.util.Map;
+
+@JsonDeserialize(builder = TestModel.Builder.class)
+@JsonFilter(ExplicitlySetBmcModel.EXPLICITLY_SET_FILTER_NAME)
+public final class TestModel extends ExplicitlySetBmcModel {
+    @JsonProperty("name")
+    private final String name;
+    @JsonProperty("tags")
+    private final Map<String, List<String>> tags;
+
+    public TestModel(String name, Map<String, List<String>> tags) {
+        this.name = name;
+        this.tags = tags;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, List<String>> getTags() {
+        return tags;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class Builder {
+        private String name;
+        private Map<String, List<String>> tags;
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder tags(Map<String, List<String>> tags) {
+            this.tags = tags;
+            return this;
+        }
+
+        public TestModel build() {
+            return new TestModel(name, tags);
+        }
+    }
+}
+""")
+
+        when:
+        def serde = classLoader.loadClass('test.introspection.$TestModel$Serde')
+        def introspection = classLoader.loadClass('test.introspection.$TestModel$Introspection').newInstance(new Object[0]) as BeanIntrospection
+
+        then:
+        io.micronaut.serde.Serde.isAssignableFrom(serde)
+        introspection.classValue(ANN_SERDEABLE + '$Serializable', "using").get() == serde
+        introspection.classValue(ANN_SERDEABLE + '$Deserializable', "using").get() == serde
+        // property (de)serializers are resolved once per serde, not per value
+        serde.getDeclaredField('serializers') != null
+        serde.getDeclaredField('deserializers') != null
+    }
+
+    void "test polymorphic oci sdk model keeps the introspection"() {
+        given:
+        def classLoader = buildClassLoader('test.TestModel', """
+package test;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.oracle.bmc.http.client.internal.ExplicitlySetBmcModel;
+
+@JsonDeserialize(builder = TestModel.Builder.class)
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+public final class TestModel extends ExplicitlySetBmcModel {
+    @JsonProperty("name")
+    private final String name;
+
+    public TestModel(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class Builder {
+        private String name;
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public TestModel build() {
+            return new TestModel(name);
+        }
+    }
+}
+""")
+
+        when:
+        classLoader.loadClass('test.introspection.$TestModel$Serde')
+
+        then:
+        thrown(ClassNotFoundException)
+    }
+
     void "test oci enum is serdeable"() {
         given:
         def introspection = buildBeanIntrospection('test.introspection.TestEnum','''
@@ -262,6 +388,186 @@ public enum TestEnum implements BmcEnum {
         argument.isNullable()
     }
 
+    void "test oci enum with json value and creator gets a generated serde"() {
+        given:
+        def classLoader = buildClassLoader('test.TestEnum', """
+package test;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.oracle.bmc.http.internal.BmcEnum;
+
+public enum TestEnum implements BmcEnum {
+    STOPPED("stopped"),
+    RUNNING("running"),
+    UnknownEnumValue(null);
+
+    private final String value;
+
+    TestEnum(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static TestEnum create(String value) {
+        for (TestEnum e : values()) {
+            if (e != UnknownEnumValue && e.value.equals(value)) {
+                return e;
+            }
+        }
+        return UnknownEnumValue;
+    }
+}
+""")
+
+        when:
+        def serde = classLoader.loadClass('test.introspection.$TestEnum$Serde')
+        def introspection = classLoader.loadClass('test.introspection.$TestEnum$Introspection').newInstance(new Object[0]) as BeanIntrospection
+
+        then:
+        io.micronaut.serde.Serde.isAssignableFrom(serde)
+        introspection.classValue(ANN_SERDEABLE + '$Serializable', "using").get() == serde
+        introspection.classValue(ANN_SERDEABLE + '$Deserializable', "using").get() == serde
+    }
+
+    void "test generated oci enum serde round trip"() {
+        given:
+        def classLoader = buildClassLoader('test.TestEnum', """
+package test;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.oracle.bmc.http.internal.BmcEnum;
+
+public enum TestEnum implements BmcEnum {
+    STOPPED("stopped"),
+    RUNNING("running"),
+    UnknownEnumValue(null);
+
+    public static int created;
+
+    private final String value;
+
+    TestEnum(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static TestEnum create(String value) {
+        created++;
+        for (TestEnum e : values()) {
+            if (e != UnknownEnumValue && e.value.equals(value)) {
+                return e;
+            }
+        }
+        return UnknownEnumValue;
+    }
+}
+""")
+        def type = classLoader.loadClass('test.TestEnum')
+        def serde = classLoader.loadClass('test.introspection.$TestEnum$Serde').newInstance() as io.micronaut.serde.Serde
+
+        expect:
+        tableOf(serde) != null
+        encode(serde, type, type.STOPPED) == 'stopped'
+        decode(serde, type, 'running') == type.RUNNING
+        type.created == 0
+
+        decode(serde, type, 'paused') == type.UnknownEnumValue
+        type.created == 1
+
+        // an explicit null is not an unknown value
+        decode(serde, type, null) == null
+        type.created == 1
+    }
+
+    void "test generated oci enum serde without a collision-free table"() {
+        given:
+        // "Aa" and "BB" have the same hash code, so no table size separates them
+        def classLoader = buildClassLoader('test.TestEnum', """
+package test;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.oracle.bmc.http.internal.BmcEnum;
+
+public enum TestEnum implements BmcEnum {
+    AA("Aa"),
+    BB("BB"),
+    UnknownEnumValue(null);
+
+    private final String value;
+
+    TestEnum(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static TestEnum create(String value) {
+        for (TestEnum e : values()) {
+            if (e != UnknownEnumValue && e.value.equals(value)) {
+                return e;
+            }
+        }
+        return UnknownEnumValue;
+    }
+}
+""")
+        def type = classLoader.loadClass('test.TestEnum')
+        def serde = classLoader.loadClass('test.introspection.$TestEnum$Serde').newInstance() as io.micronaut.serde.Serde
+
+        expect:
+        tableOf(serde) == null
+        encode(serde, type, type.BB) == 'BB'
+        decode(serde, type, 'Aa') == type.AA
+        decode(serde, type, 'BB') == type.BB
+        decode(serde, type, 'Cc') == type.UnknownEnumValue
+        decode(serde, type, null) == null
+    }
+
+    private static Object tableOf(io.micronaut.serde.Serde serde) {
+        def field = serde.getClass().getDeclaredField('TABLE')
+        field.setAccessible(true)
+        return field.get(null)
+    }
+
+    private static String encode(io.micronaut.serde.Serde serde, Class<?> type, Object value) {
+        String written = null
+        def encoder = [encodeString: { String s -> written = s }, encodeNull: { -> written = null }] as io.micronaut.serde.Encoder
+        serde.serialize(encoder, null, Argument.of(type), value)
+        return written
+    }
+
+    private static Object decode(io.micronaut.serde.Serde serde, Class<?> type, String json) {
+        boolean consumed = false
+        def decoder = [
+            decodeNull  : { ->
+                if (json == null && !consumed) {
+                    consumed = true
+                    return true
+                }
+                return false
+            },
+            decodeString: { -> json }
+        ] as io.micronaut.serde.Decoder
+        return serde.deserializeNullable(decoder, null, Argument.of(type))
+    }
+
     void "test oci inner enum is serdeable"() {
         given:
         def classLoader = buildClassLoader('test.introspection.TestClass','''
@@ -35,6 +35,7 @@ rootProject.name = "oracle-cloud"
 include("oraclecloud-atp")
 include("oraclecloud-atp-hikari-test")
 include("oraclecloud-atp-ucp-test")
+include("oraclecloud-benchmarks")
 include("oraclecloud-bom")
 include("oraclecloud-certificates")
 include("oraclecloud-common")